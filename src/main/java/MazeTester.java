@@ -73,6 +73,9 @@ class MazeTester {
 		int exitR = 0;
 		int exitC = 1;
 		List<int[]> tunnelList = new ArrayList<int[]>();
+		// seed of the random choices, only used if given in the input file
+		boolean isSeeded = false;
+		long seed = 0;
 		
 		File fin = new File(fName);
 		
@@ -92,6 +95,13 @@ class MazeTester {
 			exitR = Integer.parseInt(scanner.next());
 			exitC = Integer.parseInt(scanner.next());
 
+			// optional "seed <n>" for a reproducible run
+			if (scanner.hasNext("seed")) {
+				scanner.next();
+				seed = Long.parseLong(scanner.next());
+				isSeeded = true;
+			}
+
 			// add tunnels
 			while (scanner.hasNext()) {
 				int temp[]= {Integer.parseInt(scanner.next()), Integer.parseInt(scanner.next()), Integer.parseInt(scanner.next()), Integer.parseInt(scanner.next())};
@@ -143,17 +153,54 @@ class MazeTester {
 		case "modiPrim":
 			mazeGen = new ModifiedPrimsGenerator();
 			break;
+		case "prim":
+			mazeGen = new WeightedPrimsGenerator();
+			break;
 		case "recurBack":
 			mazeGen = new RecursiveBacktrackerGenerator();
 			break;
 		case "kruskal":
 			mazeGen = new KruskalGenerator();
 			break;
+		case "kruskalLazy":
+			mazeGen = new KruskalGenerator(true);
+			break;
+		case "kruskalParallel":
+			mazeGen = new ParallelKruskalGenerator();
+			break;
+		case "eller":
+			mazeGen = new EllersGenerator();
+			break;
+		case "wilson":
+			mazeGen = new WilsonsGenerator();
+			break;
+		case "huntKill":
+			mazeGen = new HuntAndKillGenerator();
+			break;
+		case "binaryTree":
+			mazeGen = new BinaryTreeGenerator();
+			break;
+		case "sidewinder":
+			mazeGen = new SidewinderGenerator();
+			break;
+		case "division":
+			mazeGen = new RecursiveDivisionGenerator();
+			break;
+		case "growingTree":
+			mazeGen = new GrowingTreeGenerator(SelectionPolicy.mixed(0.5));
+			break;
+		case "tiled":
+			mazeGen = new TiledGenerator(KruskalGenerator::new, 64, 64);
+			break;
 		default:
 			System.err.println("Unknown maze generator name.");
 			usage(progName);
 		}
 
+		if (isSeeded) {
+			mazeGen.setSeed(seed);
+			outStream.println("Using seed " + seed + ".");
+		}
 		outStream.println(mazeGen.getClass().getSimpleName() + " is generating the maze.");
 
 		// generate maze
@@ -180,6 +227,9 @@ class MazeTester {
 			case "recurBack":
 				mazeSolver = new RecursiveBacktrackerSolver();
 				break;
+			case "dijkstra":
+				mazeSolver = new DijkstraSolver();
+				break;
                         // sample solver to help you get started
                         case "sample":
                                 mazeSolver = new SampleSolver();
@@ -193,6 +243,9 @@ class MazeTester {
 			}
 
 			if (mazeSolver != null) {
+				if (isSeeded) {
+					mazeSolver.setSeed(seed);
+				}
 				mazeSolver.solveMaze(maze);
 				outStream.println(mazeSolver.getClass().getSimpleName() + " is solving the maze.");
 				// check if solver can get out of maze
@@ -30,7 +30,20 @@ public class HexMaze extends NormalMaze {
 			return true;
 		return false;
 	} // end of isOnEdge()
-	
+
+
+	@Override
+	public int cellIndex(int r, int c) {
+		return r * sizeC + c - (r + 1) / 2;
+	} // end of cellIndex()
+
+
+	@Override
+	public Cell cellAt(int index) {
+		int r = index / sizeC;
+		return map[r][index % sizeC + (r + 1) / 2];
+	} // end of cellAt()
+
 	
 	@Override
 	public void initMaze(int rs, int cs, int entR, int entC, int exitR, int exitC, List<int[]> tunnelList) {
@@ -0,0 +1,33 @@
+package maze;
+
+/**
+ * Topology of a hex maze: sizeR rows of sizeC hexagons, each row shifted by half a cell from the one below.
+ * Cell indices count columns from the first cell of each row, so the shift of map[][] is undone here.
+ */
+final class HexTopology extends Topology {
+
+	private static final int DIRECTIONS[] = {
+		Maze.EAST, Maze.NORTHEAST, Maze.NORTHWEST, Maze.WEST, Maze.SOUTHWEST, Maze.SOUTHEAST
+	};
+
+	HexTopology(Maze maze) {
+		super(maze);
+	} // end of HexTopology()
+
+	@Override
+	public int[] directions() {
+		return DIRECTIONS;
+	} // end of directions()
+
+	@Override
+	public int neighbour(int index, int d) {
+		int r = index / sizeC;
+		int nr = r + Maze.deltaR[d];
+		// map[][] columns are shifted by (r + 1) / 2 in row r
+		int c = index - r * sizeC + ((r + 1) >> 1) + Maze.deltaC[d] - ((nr + 1) >> 1);
+		if (nr < 0 || nr >= sizeR || c < 0 || c >= sizeC)
+			return -1;
+		return nr * sizeC + c;
+	} // end of neighbour()
+
+} // end of class HexTopology
@@ -51,7 +51,46 @@ public abstract class Maze {
 	public Cell entrance;
 	public Cell exit;
 	public boolean isVisu = true;
-	
+
+	/**
+	 * Optional traversal cost of each cell, indexed by cellIndex(). Stepping into a cell costs cellCost of that cell.
+	 * Null if every step costs 1.
+	 */
+	public int cellCost[] = null;
+
+	/**
+	 * Extra cost of going through a tunnel, added to the cost of the cell at the other end.
+	 */
+	public int tunnelCost = 0;
+
+	/**
+	 * Number of cells in the maze.
+	 * @return Number of cells, sizeR * sizeC for every type of maze.
+	 */
+	public int numCells() {
+		return sizeR * sizeC;
+	} // end of numCells()
+
+	/**
+	 * Dense index of a cell, numbering the cells row by row from 0 to numCells() - 1.
+	 * Useful for keeping per cell state in primitive arrays instead of Cell objects.
+	 * @param r Row coordinate of the cell in map[][].
+	 * @param c Column coordinate of the cell in map[][].
+	 * @return Index of the cell.
+	 */
+	public int cellIndex(int r, int c) {
+		return r * sizeC + c;
+	} // end of cellIndex()
+
+	/**
+	 * Inverse of cellIndex(int, int).
+	 * @param index Index of a cell, in [0, numCells()).
+	 * @return The cell object with that index.
+	 */
+	public Cell cellAt(int index) {
+		return map[index / sizeC][index % sizeC];
+	} // end of cellAt()
+
 	/**
 	 * To test whether the input entrance and exit locations are valid.
 	 * @param r Row of a cell.
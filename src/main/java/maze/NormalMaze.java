@@ -99,6 +99,22 @@ public class NormalMaze extends Maze {
 	} // end of initMaze()
 	
 	
+	/**
+	 * Knock down every wall between two cells of the maze, leaving only the outer walls.
+	 * For generators that build walls up instead of knocking them down.
+	 * Goes through the cells with cellAt() and their neighbours, so it also holds for the shifted rows of HexMaze.
+	 */
+	public void clearInteriorWalls() {
+		for (int i = 0; i < numCells(); i++) {
+			Cell cell = cellAt(i);
+			for (int d = 0; d < NUM_DIR; d++) {
+				if (cell.neigh[d] != null)
+					cell.wall[d].present = false;
+			}
+		}
+	} // end of clearInteriorWalls()
+	
+	
 	@Override
 	public boolean isPerfect() {
 		boolean visited[][] = new boolean[sizeR][sizeC];
@@ -146,7 +162,7 @@ public class NormalMaze extends Maze {
 						map[i][j].wall[k].drawn = false;
 				}
 		
-		for (int k = 0; k < NUM_DIR; k++) {
+		for (int k = 0; k < NUM_DIR && entrance != null; k++) {
 			if (k == 1 || k == 4)
 				continue;
 			if (entrance.neigh[k] == null) {
@@ -155,7 +171,7 @@ public class NormalMaze extends Maze {
 			}
 		}
 		
-		for (int k = 0; k < NUM_DIR; k++) {
+		for (int k = 0; k < NUM_DIR && exit != null; k++) {
 			if (k == 1 || k == 4)
 				continue;
 			if (exit.neigh[k] == null) {
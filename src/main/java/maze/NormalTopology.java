@@ -0,0 +1,36 @@
+package maze;
+
+/**
+ * Topology of a normal maze: a grid of sizeR x sizeC square cells.
+ */
+final class NormalTopology extends Topology {
+
+	private static final int DIRECTIONS[] = { Maze.EAST, Maze.NORTH, Maze.WEST, Maze.SOUTH };
+
+	NormalTopology(Maze maze) {
+		super(maze);
+	} // end of NormalTopology()
+
+	@Override
+	public int[] directions() {
+		return DIRECTIONS;
+	} // end of directions()
+
+	@Override
+	public int neighbour(int index, int d) {
+		return neighbour(sizeR, sizeC, index, d);
+	} // end of neighbour()
+
+	/**
+	 * Neighbour of a cell in a grid of square cells of the given size, see Topology.neighbour().
+	 * Also used by TunnelTopology, whose cells have the same neighbours.
+	 */
+	static int neighbour(int sizeR, int sizeC, int index, int d) {
+		int r = index / sizeC + Maze.deltaR[d];
+		int c = index % sizeC + Maze.deltaC[d];
+		if (r < 0 || r >= sizeR || c < 0 || c >= sizeC)
+			return -1;
+		return r * sizeC + c;
+	} // end of neighbour()
+
+} // end of class NormalTopology
@@ -0,0 +1,222 @@
+package maze;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Class of a normal maze whose walls are a pure function of a seed and the coordinates, so a maze of any size
+ * needs no storage. Any rectangle of it can be turned into cells on demand with materialise().
+ *
+ * The walls follow the sidewinder algorithm with every random choice replaced by a hash of the seed and the
+ * coordinates: row 0 is a corridor, and every other row is cut into runs of cells joined along the row, each with a
+ * single passage to the row below it (SOUTH). Runs never cross a multiple of MAX_RUN columns, so the run of a
+ * cell is found by looking at no more than MAX_RUN cells.
+ *
+ * Until a rectangle is materialised sizeR, sizeC and map[][] are empty. After materialise() they describe the
+ * rectangle, with its own coordinates starting at 0, so solvers and draw() work on it as on any normal maze.
+ */
+public class ProceduralMaze extends NormalMaze {
+
+	// longest run of cells joined along a row
+	private static final int MAX_RUN = 16;
+
+	private final long seed;
+	private int worldR;
+	private int worldC;
+	private int entR;
+	private int entC;
+	private int exitR;
+	private int exitC;
+	// maze coordinates of map[0][0]
+	private int viewR = 0;
+	private int viewC = 0;
+
+	/**
+	 * @param seed The seed every wall is derived from.
+	 */
+	public ProceduralMaze(long seed) {
+		this.seed = seed;
+		sizeR = 0;
+		sizeC = 0;
+	} // end of ProceduralMaze()
+
+
+	/**
+	 * Set the size, entrance and exit of the maze. Nothing is allocated, see materialise().
+	 */
+	@Override
+	public void initMaze(int rs, int cs, int entR, int entC, int exitR, int exitC, List<int[]> tunnelList) {
+		if (!tunnelList.isEmpty())
+			throw new IllegalArgumentException("Procedural mazes have no tunnels.");
+		worldR = rs;
+		worldC = cs;
+		this.entR = entR;
+		this.entC = entC;
+		this.exitR = exitR;
+		this.exitC = exitC;
+		sizeTunnel = 0;
+	} // end of initMaze()
+
+
+	/**
+	 * @return Number of rows of the whole maze.
+	 */
+	public int worldRows() {
+		return worldR;
+	} // end of worldRows()
+
+
+	/**
+	 * @return Number of columns of the whole maze.
+	 */
+	public int worldCols() {
+		return worldC;
+	} // end of worldCols()
+
+
+	/**
+	 * @return Maze row of map[0][0].
+	 */
+	public int viewRow() {
+		return viewR;
+	} // end of viewRow()
+
+
+	/**
+	 * @return Maze column of map[0][0].
+	 */
+	public int viewCol() {
+		return viewC;
+	} // end of viewCol()
+
+
+	/**
+	 * Build the cells of a rectangle of the maze into map[][], replacing the previous one.
+	 * The walls around the rectangle are present, and entrance and exit are null when they are outside it.
+	 * @param r0 Maze row of the first row of the rectangle.
+	 * @param c0 Maze column of the first column of the rectangle.
+	 * @param rows Number of rows of the rectangle.
+	 * @param cols Number of columns of the rectangle.
+	 */
+	public void materialise(int r0, int c0, int rows, int cols) {
+		if (r0 < 0 || c0 < 0 || rows < 1 || cols < 1 || r0 > worldR - rows || c0 > worldC - cols)
+			throw new IllegalArgumentException("The rectangle is not inside the maze.");
+		super.initMaze(rows, cols, entR - r0, entC - c0, exitR - r0, exitC - c0, Collections.<int[]>emptyList());
+		viewR = r0;
+		viewC = c0;
+		for (int i = 0; i < rows; i++) {
+			for (int j = 0; j < cols; j++) {
+				if (j < cols - 1)
+					map[i][j].wall[EAST].present = isWallPresent(r0 + i, c0 + j, EAST);
+				if (i < rows - 1)
+					map[i][j].wall[NORTH].present = isWallPresent(r0 + i, c0 + j, NORTH);
+			}
+		}
+	} // end of materialise()
+
+
+	/**
+	 * Check for a wall anywhere in the maze, without materialising anything.
+	 * @param r Maze row of the cell.
+	 * @param c Maze column of the cell.
+	 * @param d EAST, NORTH, WEST or SOUTH.
+	 * @return True if there is a wall on that side of the cell.
+	 */
+	public boolean isWallPresent(int r, int c, int d) {
+		if (r < 0 || r >= worldR || c < 0 || c >= worldC)
+			throw new IllegalArgumentException("Cell (" + r + ", " + c + ") is not in the maze.");
+		switch (d) {
+		case EAST:
+			if (c == worldC - 1)
+				return true;
+			return r > 0 && closesRun(r, c);
+		case WEST:
+			return c == 0 || isWallPresent(r, c - 1, EAST);
+		case NORTH:
+			return r == worldR - 1 || southCell(r + 1, c) != c;
+		case SOUTH:
+			return r == 0 || southCell(r, c) != c;
+		default:
+			return true;
+		}
+	} // end of isWallPresent()
+
+
+	/**
+	 * Length of the path between two cells, found by following both cells' paths towards row 0 until they meet,
+	 * without materialising anything. Takes time proportional to the rows crossed.
+	 * @param r1 Maze row of the first cell.
+	 * @param c1 Maze column of the first cell.
+	 * @param r2 Maze row of the second cell.
+	 * @param c2 Maze column of the second cell.
+	 * @return Number of steps between the two cells.
+	 */
+	public long distance(int r1, int c1, int r2, int c2) {
+		long steps = 0;
+		while (r1 > r2) {
+			int s = southCell(r1, c1);
+			steps += Math.abs(c1 - s) + 1;
+			c1 = s;
+			r1--;
+		}
+		while (r2 > r1) {
+			int s = southCell(r2, c2);
+			steps += Math.abs(c2 - s) + 1;
+			c2 = s;
+			r2--;
+		}
+		// same row: the paths meet in the first run both cells share, row 0 being a single run
+		while (r1 > 0 && runStart(r1, c1) != runStart(r1, c2)) {
+			int s1 = southCell(r1, c1);
+			int s2 = southCell(r1, c2);
+			steps += Math.abs(c1 - s1) + Math.abs(c2 - s2) + 2;
+			c1 = s1;
+			c2 = s2;
+			r1--;
+		}
+		return steps + Math.abs(c1 - c2);
+	} // end of distance()
+
+
+	/**
+	 * @param r Maze row, above row 0.
+	 * @param c Maze column.
+	 * @return True if the run of cell (r, c) ends with it.
+	 */
+	private boolean closesRun(int r, int c) {
+		return c == worldC - 1 || c % MAX_RUN == MAX_RUN - 1 || (hash(r, c, 0) & 1) == 0;
+	} // end of closesRun()
+
+
+	private int runStart(int r, int c) {
+		while (c > 0 && !closesRun(r, c - 1))
+			c--;
+		return c;
+	} // end of runStart()
+
+
+	/**
+	 * @param r Maze row, above row 0.
+	 * @param c Maze column.
+	 * @return Column of the cell of the run of (r, c) with a passage to row r - 1.
+	 */
+	private int southCell(int r, int c) {
+		int start = runStart(r, c);
+		int end = c;
+		while (!closesRun(r, end))
+			end++;
+		return start + (int) Long.remainderUnsigned(hash(r, end, 1), end - start + 1);
+	} // end of southCell()
+
+
+	/**
+	 * Mix the seed, a cell and a salt into 64 random looking bits (finaliser of SplitMix64).
+	 */
+	private long hash(int r, int c, int salt) {
+		long h = seed + 0x9E3779B97F4A7C15L * (((long) r << 32 | (c & 0xFFFFFFFFL)) * 2 + salt + 1);
+		h = (h ^ (h >>> 30)) * 0xBF58476D1CE4E5B9L;
+		h = (h ^ (h >>> 27)) * 0x94D049BB133111EBL;
+		return h ^ (h >>> 31);
+	} // end of hash()
+
+} // end of class ProceduralMaze
@@ -0,0 +1,120 @@
+package maze;
+
+import java.util.SplittableRandom;
+
+/**
+ * Shape of a maze seen through cell indices (see Maze.cellIndex()): which cells are next to which,
+ * and through which tunnels.
+ *
+ * Generators and solvers written against this class work for every type of maze without testing
+ * the type in their inner loops. Each type of maze has its own final implementation, so a loop
+ * running on one type of maze only ever calls one implementation.
+ */
+public abstract class Topology {
+
+	protected final Maze maze;
+	protected final int sizeR;
+	protected final int sizeC;
+	private final int numCells;
+
+	protected Topology(Maze maze) {
+		this.maze = maze;
+		sizeR = maze.sizeR;
+		sizeC = maze.sizeC;
+		numCells = maze.numCells();
+	} // end of Topology()
+
+	/**
+	 * Topology of a maze, depending on its type.
+	 * @param maze An initialised maze.
+	 * @return The topology of the maze.
+	 */
+	public static Topology of(Maze maze) {
+		switch (maze.type) {
+		case Maze.HEX:
+			return new HexTopology(maze);
+		case Maze.TUNNEL:
+			return new TunnelTopology(maze);
+		default:
+			return new NormalTopology(maze);
+		}
+	} // end of of()
+
+	/**
+	 * @return Number of cells, cell indices are in [0, numCells()).
+	 */
+	public final int numCells() {
+		return numCells;
+	} // end of numCells()
+
+	/**
+	 * Directions a cell can have neighbours in. The array is shared and must not be modified.
+	 * @return The directions, among Maze.EAST to Maze.SOUTH.
+	 */
+	public abstract int[] directions();
+
+	/**
+	 * Neighbour of a cell.
+	 * @param index Index of a cell.
+	 * @param d One of directions().
+	 * @return Index of the neighbour in direction d, -1 if it is outside the maze.
+	 */
+	public abstract int neighbour(int index, int d);
+
+	/**
+	 * Other end of the tunnel of a cell.
+	 * @param index Index of a cell.
+	 * @return Index of the other end, -1 if the cell has no tunnel.
+	 */
+	public int tunnelPartner(int index) {
+		return -1;
+	} // end of tunnelPartner()
+
+	/**
+	 * @param index Index of a cell.
+	 * @return The cell object.
+	 */
+	public final Cell cell(int index) {
+		return maze.cellAt(index);
+	} // end of cell()
+
+	/**
+	 * @param cell A cell of the maze.
+	 * @return Its index.
+	 */
+	public final int index(Cell cell) {
+		return maze.cellIndex(cell.r, cell.c);
+	} // end of index()
+
+	/**
+	 * @param index Index of a cell.
+	 * @param d Direction of a neighbour inside the maze.
+	 * @return true if there is no wall between the cell and that neighbour.
+	 */
+	public final boolean isOpen(int index, int d) {
+		return !maze.cellAt(index).wall[d].present;
+	} // end of isOpen()
+
+	/**
+	 * Knock down the wall between a cell and a neighbour.
+	 * @param index Index of a cell.
+	 * @param d Direction of a neighbour inside the maze.
+	 */
+	public final void openWall(int index, int d) {
+		maze.cellAt(index).wall[d].present = false;
+	} // end of openWall()
+
+	/**
+	 * Pick one of the directions in a mask at random, by dropping a random number of its lowest set bits.
+	 * @param mask The directions to choose from, bit d set for direction d, not empty.
+	 * @param randGen Source of the choice.
+	 * @return The direction picked.
+	 */
+	public static int randomDirection(int mask, SplittableRandom randGen) {
+		for (int skip = randGen.nextInt(Integer.bitCount(mask)); skip > 0; skip--) {
+			mask &= mask - 1;
+		}
+		return Integer.numberOfTrailingZeros(mask);
+	} // end of randomDirection()
+
+} // end of class Topology
@@ -0,0 +1,37 @@
+package maze;
+
+/**
+ * Topology of a tunnel maze: a grid of square cells, some of them joined in pairs by tunnels.
+ */
+final class TunnelTopology extends Topology {
+
+	private static final int DIRECTIONS[] = { Maze.EAST, Maze.NORTH, Maze.WEST, Maze.SOUTH };
+
+	// other end of the tunnel of each cell, -1 if none
+	private final int partner[];
+
+	TunnelTopology(Maze maze) {
+		super(maze);
+		partner = new int[numCells()];
+		for (int i = 0; i < partner.length; i++) {
+			Cell end = cell(i).tunnelTo;
+			partner[i] = end == null ? -1 : index(end);
+		}
+	} // end of TunnelTopology()
+
+	@Override
+	public int[] directions() {
+		return DIRECTIONS;
+	} // end of directions()
+
+	@Override
+	public int neighbour(int index, int d) {
+		return NormalTopology.neighbour(sizeR, sizeC, index, d);
+	} // end of neighbour()
+
+	@Override
+	public int tunnelPartner(int index) {
+		return partner[index];
+	} // end of tunnelPartner()
+
+} // end of class TunnelTopology
@@ -0,0 +1,137 @@
+package mazeAnalysis;
+
+import maze.Cell;
+import maze.Maze;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * The carved maze as a graph in compressed sparse row form.
+ *
+ * Vertices are the cell indices of Maze.cellIndex(). The neighbours reachable from vertex i, through open walls
+ * or a tunnel, are targets[offsets[i]] to targets[offsets[i + 1] - 1]. Every passage appears in both directions.
+ */
+public class MazeGraph {
+
+    /**
+     * Number of vertices, i.e. cells.
+     */
+    public final int numVertices;
+
+    /**
+     * Start of the neighbours of each vertex in targets, with offsets[numVertices] == targets.length.
+     */
+    public final int offsets[];
+
+    /**
+     * Neighbours of all the vertices, one after the other.
+     */
+    public final int targets[];
+
+    private MazeGraph(int numVertices, int offsets[], int targets[]) {
+        this.numVertices = numVertices;
+        this.offsets = offsets;
+        this.targets = targets;
+    }
+
+    /**
+     * Export the passages of a maze in one pass over its cells.
+     *
+     * @param maze the maze, walls already carved
+     * @return the graph of the maze
+     */
+    public static MazeGraph of(Maze maze) {
+        int numCells = maze.numCells();
+        int offsets[] = new int[numCells + 1];
+        // a cell has at most NUM_DIR walls and one tunnel, trimmed once the real size is known
+        int targets[] = new int[Math.min(numCells * (Maze.NUM_DIR + 1), 4 * numCells + 2 * maze.sizeTunnel)];
+        int numTargets = 0;
+
+        for (int i = 0; i < numCells; i++) {
+            offsets[i] = numTargets;
+            Cell cell = maze.cellAt(i);
+            for (int d = 0; d < Maze.NUM_DIR; d++) {
+                Cell neighbor = cell.neigh[d];
+                if (neighbor != null && !cell.wall[d].present) {
+                    if (numTargets == targets.length) {
+                        targets = Arrays.copyOf(targets, numCells * (Maze.NUM_DIR + 1));
+                    }
+                    targets[numTargets++] = maze.cellIndex(neighbor.r, neighbor.c);
+                }
+            }
+            if (cell.tunnelTo != null) {
+                if (numTargets == targets.length) {
+                    targets = Arrays.copyOf(targets, numCells * (Maze.NUM_DIR + 1));
+                }
+                targets[numTargets++] = maze.cellIndex(cell.tunnelTo.r, cell.tunnelTo.c);
+            }
+        }
+        offsets[numCells] = numTargets;
+
+        return new MazeGraph(numCells, offsets, numTargets == targets.length ? targets : Arrays.copyOf(targets, numTargets));
+    } // end of of()
+
+    /**
+     * Number of neighbours of a vertex.
+     *
+     * @param vertex the vertex
+     * @return the degree of the vertex
+     */
+    public int degree(int vertex) {
+        return offsets[vertex + 1] - offsets[vertex];
+    }
+
+    /**
+     * Write the graph to a file as big-endian ints: numVertices, targets.length, offsets, targets.
+     *
+     * @param path the file to write, replaced if it exists
+     * @throws IOException if the file cannot be written
+     */
+    public void write(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer buffer = ByteBuffer.allocateDirect(1 << 20);
+            IntBuffer ints = buffer.asIntBuffer();
+            ints.put(numVertices).put(targets.length);
+            flush(channel, buffer, ints, offsets);
+            flush(channel, buffer, ints, targets);
+            buffer.limit(ints.position() * Integer.BYTES);
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        }
+    }
+
+    /**
+     * Copy an array through the buffer, writing the buffer out every time it fills up.
+     *
+     * @param channel the file being written
+     * @param buffer the byte buffer
+     * @param ints the int view of the buffer, holding the ints not written yet
+     * @param values the array to copy
+     * @throws IOException if the file cannot be written
+     */
+    private static void flush(FileChannel channel, ByteBuffer buffer, IntBuffer ints, int values[]) throws IOException {
+        int done = 0;
+        while (done < values.length) {
+            int count = Math.min(ints.remaining(), values.length - done);
+            ints.put(values, done, count);
+            done += count;
+            if (!ints.hasRemaining()) {
+                buffer.clear();
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+                buffer.clear();
+                ints.clear();
+            }
+        }
+    }
+
+} // end of class MazeGraph
@@ -0,0 +1,263 @@
+package mazeAnalysis;
+
+import maze.Cell;
+import maze.Maze;
+
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+/**
+ * Grading metrics of a carved maze: dead ends, junctions, branching factor, corridor lengths and solution length.
+ *
+ * The metrics are computed in one parallel pass over the rows of the maze. Every thread fills its own
+ * accumulator and the accumulators are merged at the end, so no state is shared while counting.
+ * Works for every type of maze; tunnels count as passages.
+ */
+public class MazeStatistics {
+
+    /**
+     * Number of cells in the maze.
+     */
+    public int numCells;
+
+    /**
+     * Number of cells with exactly one passage.
+     */
+    public int deadEnds;
+
+    /**
+     * Number of cells with three or more passages.
+     */
+    public int junctions;
+
+    /**
+     * Average number of ways forward at a junction, i.e. its passages minus the one arrived from.
+     */
+    public double branchingFactor;
+
+    /**
+     * Number of corridors, i.e. maximal runs of cells with exactly two passages.
+     */
+    public int corridors;
+
+    /**
+     * corridorLengths[k] is the number of corridors made of k cells.
+     */
+    public int corridorLengths[];
+
+    /**
+     * Number of cells on the path from entrance to exit (both included), 0 if the exit cannot be reached.
+     */
+    public int solutionLength;
+
+    /**
+     * Compute the statistics of a maze.
+     *
+     * @param maze the maze, walls already carved
+     * @return the statistics
+     */
+    public static MazeStatistics compute(Maze maze) {
+        Accumulator total = IntStream.range(0, maze.sizeR).parallel()
+                .collect(() -> new Accumulator(maze), Accumulator::addRow, Accumulator::merge);
+
+        MazeStatistics stats = new MazeStatistics();
+        stats.numCells = maze.numCells();
+        stats.deadEnds = total.deadEnds;
+        stats.junctions = total.junctions;
+        stats.branchingFactor = total.junctions == 0 ? 0 : (double) total.junctionExits / total.junctions;
+        stats.corridors = total.corridors;
+        stats.corridorLengths = Arrays.copyOf(total.corridorLengths, total.longestCorridor + 1);
+        stats.solutionLength = solutionLength(maze);
+        return stats;
+    } // end of compute()
+
+    /**
+     * Mean length of the corridors.
+     *
+     * @return the average number of cells in a corridor, 0 if there are none
+     */
+    public double meanCorridorLength() {
+        long cells = 0;
+        for (int k = 0; k < corridorLengths.length; k++) {
+            cells += (long) k * corridorLengths[k];
+        }
+        return corridors == 0 ? 0 : (double) cells / corridors;
+    }
+
+    @Override
+    public String toString() {
+        return "cells=" + numCells + " deadEnds=" + deadEnds + " junctions=" + junctions
+                + " branchingFactor=" + String.format("%.3f", branchingFactor)
+                + " corridors=" + corridors + " meanCorridorLength=" + String.format("%.3f", meanCorridorLength())
+                + " longestCorridor=" + (corridorLengths.length - 1) + " solutionLength=" + solutionLength;
+    }
+
+    /**
+     * Number of passages out of a cell, through open walls and tunnels.
+     *
+     * @param cell the cell
+     * @return the degree of the cell
+     */
+    static int degree(Cell cell) {
+        int degree = cell.tunnelTo != null ? 1 : 0;
+        for (int i = 0; i < Maze.NUM_DIR; i++) {
+            if (cell.neigh[i] != null && !cell.wall[i].present) {
+                degree++;
+            }
+        }
+        return degree;
+    }
+
+    /**
+     * BFS from the entrance to the exit on primitive arrays.
+     *
+     * @param maze the maze
+     * @return the number of cells on the path, 0 if the exit cannot be reached
+     */
+    private static int solutionLength(Maze maze) {
+        if (maze.entrance == null || maze.exit == null) {
+            return 0;
+        }
+        int dist[] = new int[maze.numCells()];
+        int queue[] = new int[maze.numCells()];
+        int exit = maze.cellIndex(maze.exit.r, maze.exit.c);
+        int head = 0;
+        int tail = 0;
+        int entrance = maze.cellIndex(maze.entrance.r, maze.entrance.c);
+        queue[tail++] = entrance;
+        dist[entrance] = 1;
+
+        while (head < tail && dist[exit] == 0) {
+            int current = queue[head++];
+            Cell cell = maze.cellAt(current);
+            for (int i = 0; i <= Maze.NUM_DIR; i++) {
+                Cell next = i < Maze.NUM_DIR ? cell.neigh[i] : cell.tunnelTo;
+                if (next == null || (i < Maze.NUM_DIR && cell.wall[i].present)) {
+                    continue;
+                }
+                int index = maze.cellIndex(next.r, next.c);
+                if (dist[index] == 0) {
+                    dist[index] = dist[current] + 1;
+                    queue[tail++] = index;
+                }
+            }
+        }
+        return dist[exit];
+    }
+
+    /**
+     * Counts of the rows seen by one thread.
+     */
+    private static class Accumulator {
+        final Maze maze;
+        int deadEnds = 0;
+        int junctions = 0;
+        long junctionExits = 0;
+        int corridors = 0;
+        int corridorLengths[] = new int[16];
+        int longestCorridor = 0;
+
+        Accumulator(Maze maze) {
+            this.maze = maze;
+        }
+
+        /**
+         * Count every cell of a row. Corridors are walked from the cells that end them and only
+         * recorded from their lower indexed end, so each is counted once over all rows.
+         *
+         * @param row the row
+         */
+        void addRow(int row) {
+            int first = row * maze.sizeC;
+            for (int index = first; index < first + maze.sizeC; index++) {
+                Cell cell = maze.cellAt(index);
+                int degree = degree(cell);
+                if (degree == 1) {
+                    deadEnds++;
+                } else if (degree >= 3) {
+                    junctions++;
+                    junctionExits += degree - 1;
+                }
+                if (degree != 2) {
+                    for (int i = 0; i <= Maze.NUM_DIR; i++) {
+                        Cell next = i < Maze.NUM_DIR ? cell.neigh[i] : cell.tunnelTo;
+                        if (next != null && (i == Maze.NUM_DIR || !cell.wall[i].present)) {
+                            walkCorridor(index, cell, next);
+                        }
+                    }
+                }
+            }
+        }
+
+        /**
+         * Follow a corridor starting next to a cell that is not part of a corridor.
+         *
+         * @param startIndex the index of the cell the corridor leaves from
+         * @param start the cell the corridor leaves from
+         * @param next the first cell along the passage
+         */
+        private void walkCorridor(int startIndex, Cell start, Cell next) {
+            Cell previous = start;
+            Cell current = next;
+            int length = 0;
+            while (current != start && degree(current) == 2) {
+                length++;
+                Cell following = otherPassage(current, previous);
+                previous = current;
+                current = following;
+            }
+            if (length == 0) {
+                return;
+            }
+            int endIndex = maze.cellIndex(current.r, current.c);
+            boolean isLowerEnd = startIndex < endIndex
+                    || (startIndex == endIndex && maze.cellIndex(next.r, next.c) < maze.cellIndex(previous.r, previous.c));
+            if (isLowerEnd) {
+                corridors++;
+                if (length >= corridorLengths.length) {
+                    corridorLengths = Arrays.copyOf(corridorLengths, Math.max(length + 1, corridorLengths.length * 2));
+                }
+                corridorLengths[length]++;
+                longestCorridor = Math.max(longestCorridor, length);
+            }
+        }
+
+        /**
+         * The passage out of a corridor cell other than the one arrived through.
+         *
+         * @param cell a cell with exactly two passages
+         * @param from the cell arrived from
+         * @return the cell at the other end of the second passage
+         */
+        private Cell otherPassage(Cell cell, Cell from) {
+            boolean skipped = false;
+            for (int i = 0; i <= Maze.NUM_DIR; i++) {
+                Cell next = i < Maze.NUM_DIR ? cell.neigh[i] : cell.tunnelTo;
+                if (next == null || (i < Maze.NUM_DIR && cell.wall[i].present)) {
+                    continue;
+                }
+                if (next == from && !skipped) {
+                    skipped = true;
+                    continue;
+                }
+                return next;
+            }
+            return from;
+        }
+
+        void merge(Accumulator other) {
+            deadEnds += other.deadEnds;
+            junctions += other.junctions;
+            junctionExits += other.junctionExits;
+            corridors += other.corridors;
+            if (other.corridorLengths.length > corridorLengths.length) {
+                corridorLengths = Arrays.copyOf(corridorLengths, other.corridorLengths.length);
+            }
+            for (int k = 0; k < other.corridorLengths.length; k++) {
+                corridorLengths[k] += other.corridorLengths[k];
+            }
+            longestCorridor = Math.max(longestCorridor, other.longestCorridor);
+        }
+    }
+
+} // end of class MazeStatistics
@@ -0,0 +1,37 @@
+package mazeGenerator;
+
+import maze.Cell;
+import maze.Maze;
+
+import java.util.SplittableRandom;
+
+/**
+ * Generate maze with the binary tree algorithm: every cell opens either its EAST or its NORTH wall.
+ *
+ * ALGORITHM BINARY TREE(M)
+ * 1: For every cell, knock down its EAST or its NORTH wall at random.
+ *    In the last column only NORTH can be knocked down, in the last row only EAST, and nothing in the last cell.
+ *
+ * Every cell but one is joined to a cell further north or east, so the passages form a tree.
+ */
+public class BinaryTreeGenerator extends RowBandGenerator {
+
+    @Override
+    protected void carveRow(Cell row[], boolean isLastRow, SplittableRandom randGen) {
+        int last = row.length - 1;
+        for (int c = 0; c <= last; c++) {
+            boolean east;
+            if (isLastRow) {
+                east = c < last;
+            } else {
+                east = c < last && randGen.nextBoolean();
+            }
+            if (east) {
+                row[c].wall[Maze.EAST].present = false;
+            } else if (!isLastRow) {
+                row[c].wall[Maze.NORTH].present = false;
+            }
+        }
+    }
+
+} // end of class BinaryTreeGenerator
@@ -0,0 +1,102 @@
+package mazeGenerator;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Lock-free disjoint-set forest over the ints 0 to n - 1, safe to use from many threads at once.
+ *
+ * Roots are always linked under the smaller root index, so parent indices strictly decrease along any path and
+ * two racing unions can never form a cycle. The link is a compare-and-set on a root, retried if another thread
+ * changed it first. find() uses path halving, also by compare-and-set.
+ */
+public class ConcurrentDisjointSet {
+
+    private final AtomicIntegerArray mParent;
+    private final AtomicInteger mNumSets;
+
+    /**
+     * Create n singleton sets.
+     *
+     * @param n the number of elements
+     */
+    public ConcurrentDisjointSet(int n) {
+        mParent = new AtomicIntegerArray(n);
+        for (int i = 0; i < n; i++) {
+            mParent.set(i, i);
+        }
+        mNumSets = new AtomicInteger(n);
+    }
+
+    /**
+     * Find the representative of the set containing an element.
+     *
+     * @param x the element
+     * @return the root of the set of x at some point during the call
+     */
+    public int find(int x) {
+        int parent = mParent.get(x);
+        while (parent != x) {
+            int grandparent = mParent.get(parent);
+            mParent.compareAndSet(x, parent, grandparent);
+            x = grandparent;
+            parent = mParent.get(x);
+        }
+        return x;
+    }
+
+    /**
+     * Check if two elements are in the same set.
+     *
+     * @param x an element
+     * @param y an element
+     * @return true if they are in the same set
+     */
+    public boolean sameSet(int x, int y) {
+        while (true) {
+            int rootX = find(x);
+            int rootY = find(y);
+            if (rootX == rootY) {
+                return true;
+            }
+            // rootX is still a root, so the two were really apart when rootY was found
+            if (mParent.get(rootX) == rootX) {
+                return false;
+            }
+        }
+    }
+
+    /**
+     * Merge the sets containing two elements.
+     *
+     * @param x an element
+     * @param y an element
+     * @return true if this call merged two different sets, false if they were already one set
+     */
+    public boolean union(int x, int y) {
+        while (true) {
+            int rootX = find(x);
+            int rootY = find(y);
+            if (rootX == rootY) {
+                return false;
+            }
+            if (rootX > rootY) {
+                int temp = rootX;
+                rootX = rootY;
+                rootY = temp;
+            }
+            if (mParent.compareAndSet(rootY, rootY, rootX)) {
+                mNumSets.decrementAndGet();
+                return true;
+            }
+        }
+    }
+
+    /**
+     * @return the number of disjoint sets left
+     */
+    public int numSets() {
+        return mNumSets.get();
+    }
+
+} // end of class ConcurrentDisjointSet
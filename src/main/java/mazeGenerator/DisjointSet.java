@@ -0,0 +1,77 @@
+package mazeGenerator;
+
+/**
+ * Disjoint-set forest over the ints 0 to n - 1, used to track connected components of cells by cell index.
+ *
+ * Uses union by size and path halving, so any sequence of operations runs in near linear time.
+ */
+public class DisjointSet {
+
+    // parent of each element, an element is a root when it is its own parent
+    private final int mParent[];
+    // number of elements in the tree of each root
+    private final int mSize[];
+    private int mNumSets;
+
+    /**
+     * Create n singleton sets.
+     *
+     * @param n the number of elements
+     */
+    public DisjointSet(int n) {
+        mParent = new int[n];
+        mSize = new int[n];
+        for (int i = 0; i < n; i++) {
+            mParent[i] = i;
+            mSize[i] = 1;
+        }
+        mNumSets = n;
+    }
+
+    /**
+     * Find the representative of the set containing an element.
+     * Every node on the way points to its grandparent afterwards (path halving).
+     *
+     * @param x the element
+     * @return the root of the set of x
+     */
+    public int find(int x) {
+        while (mParent[x] != x) {
+            mParent[x] = mParent[mParent[x]];
+            x = mParent[x];
+        }
+        return x;
+    }
+
+    /**
+     * Merge the sets containing two elements, hanging the smaller tree under the larger.
+     *
+     * @param x an element
+     * @param y an element
+     * @return true if they were in different sets, false if nothing was merged
+     */
+    public boolean union(int x, int y) {
+        int rootX = find(x);
+        int rootY = find(y);
+        if (rootX == rootY) {
+            return false;
+        }
+        if (mSize[rootX] < mSize[rootY]) {
+            int temp = rootX;
+            rootX = rootY;
+            rootY = temp;
+        }
+        mParent[rootY] = rootX;
+        mSize[rootX] += mSize[rootY];
+        mNumSets--;
+        return true;
+    }
+
+    /**
+     * @return the number of disjoint sets left
+     */
+    public int numSets() {
+        return mNumSets;
+    }
+
+} // end of class DisjointSet
@@ -0,0 +1,203 @@
+package mazeGenerator;
+
+import java.util.SplittableRandom;
+
+/**
+ * Row by row engine of Eller's algorithm. Produces the passages of a perfect maze one row at a time, keeping only
+ * the set label of each cell of the current row, so the memory used depends on the width of the maze only.
+ *
+ * Labels are ints in [0, width): a row never has more sets than cells, and labels that are no longer used by any
+ * cell are given out again. Sets are merged through a disjoint-set forest over the labels, rebuilt for every row.
+ */
+public class EllerRowGenerator {
+
+    private static final int NONE = -1;
+
+    private final int mWidth;
+    private final SplittableRandom mRandGen;
+
+    // label of the set of each cell of the current row, NONE before the row is started
+    private final int mLabels[];
+    // disjoint-set forest over the labels of the current row
+    private final int mParent[];
+    // scratch per label: whether it is used, whether it has a passage down, how many cells it has seen, the cell
+    // picked at random among them
+    private final boolean mUsed[];
+    private final boolean mHasDown[];
+    private final int mCount[];
+    private final int mPick[];
+    // cells of the current row that must get a passage to the next row
+    private final boolean mForced[];
+    private long mRow = 0;
+
+    /**
+     * @param width the number of cells in a row
+     * @param randGen the random generator to draw passages from
+     */
+    public EllerRowGenerator(int width, SplittableRandom randGen) {
+        if (width < 1) {
+            throw new IllegalArgumentException("A row must have at least one cell.");
+        }
+        mWidth = width;
+        mRandGen = randGen;
+        mLabels = new int[width];
+        mParent = new int[width];
+        mUsed = new boolean[width];
+        mHasDown = new boolean[width];
+        mCount = new int[width];
+        mPick = new int[width];
+        mForced = new boolean[width];
+        for (int c = 0; c < width; c++) {
+            mLabels[c] = NONE;
+        }
+    }
+
+    /**
+     * @return the number of cells in a row
+     */
+    public int width() {
+        return mWidth;
+    }
+
+    /**
+     * @return the number of rows produced so far
+     */
+    public long rowsDone() {
+        return mRow;
+    }
+
+    /**
+     * Produce the passages of the next row, using the following steps of Eller's algorithm:
+     *
+     * 1: Put every cell that was not joined from the row before in a set of its own.
+     * 2: For each pair of cells next to each other in different sets, randomly join them and merge their sets.
+     *    In the last row, join all of them.
+     * 3: Unless this is the last row, randomly pick the cells of each set that get a passage to the next row,
+     *    at least one per set. The cells of the next row below them stay in the same set.
+     *
+     * @param last true for the last row of the maze, which joins every set
+     * @param east filled with true for each cell c with a passage to cell c + 1
+     * @param next filled with true for each cell with a passage to the next row, all false for the last row
+     */
+    public void nextRow(boolean last, boolean east[], boolean next[]) {
+        joinRow(last, east);
+        if (last) {
+            for (int c = 0; c < mWidth; c++) {
+                next[c] = false;
+            }
+        } else {
+            chooseNext(next);
+        }
+    }
+
+    /**
+     * First half of nextRow(): steps 1 and 2, the passages inside the next row.
+     * Unless it was the last row, chooseNext() must be called before the next call.
+     *
+     * @param last true for the last row of the maze, which joins every set
+     * @param east filled with true for each cell c with a passage to cell c + 1
+     */
+    public void joinRow(boolean last, boolean east[]) {
+        int width = mWidth;
+
+        // (Step 1) Give an unused label to the cells not joined from above
+        for (int l = 0; l < width; l++) {
+            mUsed[l] = false;
+            mParent[l] = l;
+            // forced before the row was joined, or left over from a last row with no chooseNext()
+            mForced[l] = false;
+        }
+        for (int c = 0; c < width; c++) {
+            if (mLabels[c] != NONE) {
+                mUsed[mLabels[c]] = true;
+            }
+        }
+        int free = 0;
+        for (int c = 0; c < width; c++) {
+            if (mLabels[c] == NONE) {
+                while (mUsed[free]) {
+                    free++;
+                }
+                mUsed[free] = true;
+                mLabels[c] = free;
+            }
+        }
+
+        // (Step 2) Join neighbours of different sets
+        for (int c = 0; c < width - 1; c++) {
+            int left = find(mLabels[c]);
+            int right = find(mLabels[c + 1]);
+            east[c] = left != right && (last || mRandGen.nextBoolean());
+            if (east[c]) {
+                mParent[right] = left;
+            }
+        }
+        east[width - 1] = false;
+        for (int c = 0; c < width; c++) {
+            mLabels[c] = find(mLabels[c]);
+        }
+
+        mRow++;
+        if (last) {
+            for (int c = 0; c < width; c++) {
+                mLabels[c] = NONE;
+            }
+        }
+    }
+
+    /**
+     * Make a cell of the row being produced get a passage to the next row, whatever chooseNext() draws.
+     * Any cell can be forced, every set keeps at least one passage down anyway. Only holds between joinRow()
+     * and chooseNext(), joinRow() drops the cells forced before it.
+     *
+     * @param c the column of the cell
+     */
+    public void forceNext(int c) {
+        mForced[c] = true;
+    }
+
+    /**
+     * Second half of nextRow(): step 3, the passages to the next row.
+     *
+     * @param next filled with true for each cell with a passage to the next row
+     */
+    public void chooseNext(boolean next[]) {
+        int width = mWidth;
+
+        // (Step 3) Random passages down, and one cell picked at random per set in case none was chosen
+        for (int l = 0; l < width; l++) {
+            mHasDown[l] = false;
+            mCount[l] = 0;
+        }
+        for (int c = 0; c < width; c++) {
+            int label = mLabels[c];
+            next[c] = mRandGen.nextBoolean() || mForced[c];
+            mForced[c] = false;
+            mHasDown[label] |= next[c];
+            if (mRandGen.nextInt(++mCount[label]) == 0) {
+                mPick[label] = c;
+            }
+        }
+        for (int c = 0; c < width; c++) {
+            int label = mLabels[c];
+            if (!mHasDown[label]) {
+                next[mPick[label]] = true;
+                mHasDown[label] = true;
+            }
+        }
+        for (int c = 0; c < width; c++) {
+            if (!next[c]) {
+                mLabels[c] = NONE;
+            }
+        }
+    }
+
+    private int find(int label) {
+        while (mParent[label] != label) {
+            mParent[label] = mParent[mParent[label]];
+            label = mParent[label];
+        }
+        return label;
+    }
+
+} // end of class EllerRowGenerator
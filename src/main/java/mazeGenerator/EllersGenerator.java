@@ -0,0 +1,76 @@
+package mazeGenerator;
+
+import maze.Cell;
+import maze.Maze;
+
+import java.util.SplittableRandom;
+
+/**
+ * Generate maze with Eller's algorithm, one row at a time.
+ *
+ * Only the current row is kept while generating, so rows can also be streamed to a RowSink without any maze object,
+ * for mazes too tall to hold in memory or to start using the first rows before the last ones exist.
+ */
+public class EllersGenerator implements MazeGenerator {
+
+    private SplittableRandom mRandGen = new SplittableRandom();
+
+    /**
+     * Generate a perfect maze inside the input maze object, using the following algorithm:
+     *
+     * ALGORITHM ELLER(M)
+     * Input: Maze M, all walls built up, start and exit points marked.
+     * Output: Maze M, appropriate walls knocked down to form a perfect maze from start to exit.
+     *
+     * 1: For each row from the first to the last, produce its passages with the row engine (see EllerRowGenerator).
+     * 2: Knock down the walls of the row: between cells joined in the row, and towards the next row.
+     *
+     * Only works on a normal maze, the rows of the other types are not independent of the cells outside them.
+     *
+     * @param maze The reference of Maze object to generate.
+     */
+    @Override
+    public void generateMaze(Maze maze) {
+        if (maze.type != Maze.NORMAL) {
+            throw new IllegalArgumentException("Eller's algorithm only generates normal mazes.");
+        }
+        generateRows(maze.sizeR, maze.sizeC, (row, east, next) -> {
+            Cell cells[] = maze.map[(int) row];
+            for (int c = 0; c < cells.length; c++) {
+                // (Step 2) Knock down the walls of the passages
+                if (east[c]) {
+                    cells[c].wall[Maze.EAST].present = false;
+                }
+                if (next[c]) {
+                    cells[c].wall[Maze.NORTH].present = false;
+                }
+            }
+        });
+    } // end of generateMaze()
+
+    @Override
+    public void setSeed(long seed) {
+        mRandGen = new SplittableRandom(seed);
+    }
+
+    /**
+     * Generate a perfect maze of the given size and hand its rows over one at a time, using memory proportional
+     * to the number of columns only.
+     *
+     * @param rows the number of rows
+     * @param cols the number of columns
+     * @param sink receives each row once it is complete
+     */
+    public void generateRows(long rows, int cols, RowSink sink) {
+        EllerRowGenerator engine = new EllerRowGenerator(cols, mRandGen);
+        boolean east[] = new boolean[cols];
+        boolean next[] = new boolean[cols];
+
+        // (Step 1) Produce the rows in order
+        for (long r = 0; r < rows; r++) {
+            engine.nextRow(r == rows - 1, east, next);
+            sink.acceptRow(r, east, next);
+        }
+    }
+
+} // end of class EllersGenerator
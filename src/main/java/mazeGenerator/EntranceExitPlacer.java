@@ -0,0 +1,115 @@
+package mazeGenerator;
+
+import maze.Cell;
+import maze.Maze;
+
+import java.util.Arrays;
+
+/**
+ * Places the entrance and exit of a generated maze on the two edge cells that are furthest apart.
+ *
+ * A perfect maze is a spanning tree, and in a tree the edge cell furthest from any edge cell is one end of a
+ * longest path between edge cells. Two BFS passes therefore find the most difficult placement in linear time.
+ */
+public class EntranceExitPlacer {
+
+    private Maze mMaze;
+    private int mDist[];
+    private int mQueue[];
+
+    /**
+     * Move the entrance and exit of the maze to the ends of the longest path between two edge cells.
+     *
+     * ALGORITHM PLACEENTRANCEEXIT(M)
+     * Input: Maze M, appropriate walls knocked down to form a perfect maze.
+     * Output: Maze M, entrance and exit moved to the two edge cells furthest apart.
+     *
+     * 1: BFS from any edge cell and take the furthest edge cell a.
+     * 2: BFS from a and take the furthest edge cell b.
+     * 3: The path from a to b is the longest path between edge cells; make a the entrance and b the exit.
+     *
+     * @param maze a perfect maze
+     * @return the number of cells on the path from the new entrance to the new exit
+     */
+    public int placeEntranceAndExit(Maze maze) {
+        mMaze = maze;
+        mDist = new int[maze.numCells()];
+        mQueue = new int[maze.numCells()];
+
+        // (Step 1) Cell 0 is on the bottom row, so it is always an edge cell
+        int a = furthestEdgeCell(0);
+
+        // (Step 2) Search again from the far end
+        int b = furthestEdgeCell(a);
+
+        // (Step 3) The two ends become the entrance and exit
+        maze.entrance = maze.cellAt(a);
+        maze.exit = maze.cellAt(b);
+        int pathLength = mDist[b];
+
+        mDist = null;
+        mQueue = null;
+        return pathLength;
+    } // end of placeEntranceAndExit()
+
+    /**
+     * BFS through the open walls and tunnels of the maze from a cell.
+     *
+     * @param source the index of the cell to start from
+     * @return the index of the edge cell furthest from the source
+     */
+    private int furthestEdgeCell(int source) {
+        Arrays.fill(mDist, 0);
+        int head = 0;
+        int tail = 0;
+        mQueue[tail++] = source;
+        mDist[source] = 1;
+        int furthest = source;
+
+        while (head < tail) {
+            int current = mQueue[head++];
+            if (mDist[current] > mDist[furthest] && isOnEdge(current)) {
+                furthest = current;
+            }
+            Cell cell = mMaze.cellAt(current);
+            for (int i = 0; i < Maze.NUM_DIR; i++) {
+                Cell neighbor = cell.neigh[i];
+                if (neighbor != null && !cell.wall[i].present) {
+                    tail = visit(current, mMaze.cellIndex(neighbor.r, neighbor.c), tail);
+                }
+            }
+            if (cell.tunnelTo != null) {
+                tail = visit(current, mMaze.cellIndex(cell.tunnelTo.r, cell.tunnelTo.c), tail);
+            }
+        }
+        return furthest;
+    }
+
+    /**
+     * Queue a cell reached from the current cell if it has not been reached before.
+     *
+     * @param current the index of the current cell
+     * @param next the index of the reached cell
+     * @param tail the tail of the queue
+     * @return the new tail of the queue
+     */
+    private int visit(int current, int next, int tail) {
+        if (mDist[next] == 0) {
+            mDist[next] = mDist[current] + 1;
+            mQueue[tail++] = next;
+        }
+        return tail;
+    }
+
+    /**
+     * Check if a cell is on the edge of the maze, the only valid places for an entrance or exit.
+     *
+     * @param index the index of the cell
+     * @return whether the cell is on the edge
+     */
+    private boolean isOnEdge(int index) {
+        // isOnEdge() takes the column as given in an input parameter file, for hex mazes too
+        return mMaze.isOnEdge(index / mMaze.sizeC, index % mMaze.sizeC);
+    }
+
+} // end of class EntranceExitPlacer
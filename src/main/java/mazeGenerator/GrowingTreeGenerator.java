@@ -0,0 +1,159 @@
+package mazeGenerator;
+
+import maze.Maze;
+import maze.Topology;
+
+import java.util.BitSet;
+import java.util.SplittableRandom;
+
+/**
+ * Generate maze with the growing tree algorithm. The SelectionPolicy deciding which active cell grows next sets the
+ * texture of the maze, from the recursive backtracker (newest) to prim's algorithm (random).
+ *
+ * The active cells are kept oldest first, as the policies expect. Each cell is appended to an int array when it joins
+ * the maze, at most once, and never moves; a Fenwick tree over the array counts the cells still active, so the
+ * cell at any position chosen by the policy is found, and later removed, in O(log n).
+ */
+public class GrowingTreeGenerator implements MazeGenerator {
+
+    private final SelectionPolicy mPolicy;
+    private SplittableRandom mRandGen = new SplittableRandom();
+    private Topology mTopology;
+    // one bit per cell index, set once the cell is in the maze
+    private BitSet mVisited;
+    // cell indices in the order they joined the maze, active or not
+    private int mActive[];
+    private int mTail;
+    // Fenwick tree over mActive, 1 for each cell still active
+    private int mTree[];
+    private int mNumActive;
+
+    public GrowingTreeGenerator() {
+        this(SelectionPolicy.NEWEST);
+    }
+
+    /**
+     * @param policy chooses the active cell to grow from
+     */
+    public GrowingTreeGenerator(SelectionPolicy policy) {
+        mPolicy = policy;
+    }
+
+    /**
+     * Generate a perfect maze inside the input maze object, using the following algorithm:
+     *
+     * ALGORITHM GROWING TREE(M)
+     * Input: Maze M, all walls built up, start and exit points marked.
+     * Output: Maze M, appropriate walls knocked down to form a perfect maze from start to exit.
+     *
+     * 1: Pick a random starting cell, add it to the maze and to the active cells.
+     * 2: Choose an active cell with the selection policy.
+     * 3: If it has neighbours not in the maze, knock down the wall to a random one of them and add it to the maze
+     *    and to the active cells. Otherwise remove the chosen cell from the active cells.
+     * 4: Repeat from step 2 until there are no active cells.
+     *
+     * The other end of a tunnel joins the maze and the active cells with the first end.
+     *
+     * @param maze The reference of Maze object to generate.
+     */
+    @Override
+    public void generateMaze(Maze maze) {
+        mTopology = Topology.of(maze);
+        int numCells = mTopology.numCells();
+        int directions[] = mTopology.directions();
+        mVisited = new BitSet(numCells);
+        mActive = new int[numCells];
+        mTail = 0;
+        mTree = new int[numCells + 1];
+        mNumActive = 0;
+
+        // (Step 1) Random starting cell
+        add(mRandGen.nextInt(numCells));
+
+        // (Step 4) Until no cell is active
+        while (mNumActive > 0) {
+
+            // (Step 2) Choose an active cell
+            int pos = slotOf(mPolicy.select(mNumActive, mRandGen));
+            int current = mActive[pos];
+
+            // (Step 3) Grow to a random neighbour not in the maze, or retire the cell
+            int unvisited = 0;
+            for (int d : directions) {
+                int neighbour = mTopology.neighbour(current, d);
+                if (neighbour >= 0 && !mVisited.get(neighbour)) {
+                    unvisited |= 1 << d;
+                }
+            }
+            if (unvisited != 0) {
+                int d = Topology.randomDirection(unvisited, mRandGen);
+                mTopology.openWall(current, d);
+                add(mTopology.neighbour(current, d));
+            } else {
+                count(pos, -1);
+                mNumActive--;
+            }
+        }
+        mTopology = null;
+        mVisited = null;
+        mActive = null;
+        mTree = null;
+    } // end of generateMaze()
+
+    @Override
+    public void setSeed(long seed) {
+        mRandGen = new SplittableRandom(seed);
+    }
+
+    /**
+     * Add a cell to the maze and to the active cells, and the other end of its tunnel if it has one.
+     *
+     * @param index the index of the cell
+     */
+    private void add(int index) {
+        mVisited.set(index);
+        append(index);
+        int partner = mTopology.tunnelPartner(index);
+        if (partner >= 0 && !mVisited.get(partner)) {
+            mVisited.set(partner);
+            append(partner);
+        }
+    }
+
+    private void append(int index) {
+        mActive[mTail] = index;
+        count(mTail, 1);
+        mTail++;
+        mNumActive++;
+    }
+
+    /**
+     * Change the count of a slot of mActive in the Fenwick tree.
+     *
+     * @param slot the slot
+     * @param delta 1 when the cell becomes active, -1 when it is retired
+     */
+    private void count(int slot, int delta) {
+        for (int i = slot + 1; i < mTree.length; i += i & -i) {
+            mTree[i] += delta;
+        }
+    }
+
+    /**
+     * Find an active cell by its age, descending the Fenwick tree.
+     *
+     * @param position the position among the active cells, 0 for the oldest
+     * @return the slot of mActive holding that cell
+     */
+    private int slotOf(int position) {
+        int slot = 0;
+        for (int step = Integer.highestOneBit(mTree.length - 1); step > 0; step >>= 1) {
+            if (slot + step < mTree.length && mTree[slot + step] <= position) {
+                slot += step;
+                position -= mTree[slot];
+            }
+        }
+        return slot;
+    }
+
+} // end of class GrowingTreeGenerator
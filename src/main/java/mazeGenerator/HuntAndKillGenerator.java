@@ -0,0 +1,113 @@
+package mazeGenerator;
+
+import maze.Maze;
+import maze.Topology;
+
+import java.util.BitSet;
+import java.util.SplittableRandom;
+
+/**
+ * Generate maze with the hunt-and-kill algorithm. Gives long corridors like the recursive backtracker, but keeps
+ * no stack: when the walk is stuck it hunts for a new starting point instead of backtracking.
+ *
+ * The hunt resumes from a cursor on the first cell not visited yet. Every cell before it is visited, so the cell at
+ * the cursor always has a visited neighbour in the row before it or just before it in its row, and the cursor only
+ * ever moves forward: all the hunting together scans the maze once.
+ */
+public class HuntAndKillGenerator implements MazeGenerator {
+
+    private SplittableRandom mRandGen = new SplittableRandom();
+    private Topology mTopology;
+    // one bit per cell index, set once the cell is visited
+    private BitSet mVisited;
+
+    /**
+     * Generate a perfect maze inside the input maze object, using the following algorithm:
+     *
+     * ALGORITHM HUNT AND KILL(M)
+     * Input: Maze M, all walls built up, start and exit points marked.
+     * Output: Maze M, appropriate walls knocked down to form a perfect maze from start to exit.
+     *
+     * 1: Start at the first cell and mark it visited.
+     * 2: (Kill) Pick a random unvisited neighbour of the current cell, knock down the wall between them, mark it
+     *    visited and move to it. Repeat until the current cell has no unvisited neighbour.
+     * 3: (Hunt) Find the first cell not visited yet, knock down the wall between it and a random visited neighbour,
+     *    mark it visited and make it the current cell. Go back to step 2.
+     * 4: Stop when every cell is visited.
+     *
+     * Both ends of a tunnel are marked visited together, as the tunnel connects them.
+     *
+     * @param maze The reference of Maze object to generate.
+     */
+    @Override
+    public void generateMaze(Maze maze) {
+        mTopology = Topology.of(maze);
+        int numCells = mTopology.numCells();
+        int directions[] = mTopology.directions();
+        mVisited = new BitSet(numCells);
+
+        // (Step 1) Start at the first cell
+        int current = 0;
+        markVisited(current);
+        int cursor = 0;
+
+        while (true) {
+
+            // (Step 2) Kill: walk to unvisited neighbours
+            while (true) {
+                int unvisited = 0;
+                for (int d : directions) {
+                    int neighbour = mTopology.neighbour(current, d);
+                    if (neighbour >= 0 && !mVisited.get(neighbour)) {
+                        unvisited |= 1 << d;
+                    }
+                }
+                if (unvisited == 0) {
+                    break;
+                }
+                int d = Topology.randomDirection(unvisited, mRandGen);
+                mTopology.openWall(current, d);
+                current = mTopology.neighbour(current, d);
+                markVisited(current);
+            }
+
+            // (Step 3) Hunt: the first cell not visited yet
+            cursor = mVisited.nextClearBit(cursor);
+            if (cursor >= numCells) {
+                // (Step 4) Every cell is visited
+                break;
+            }
+            current = cursor;
+            int visited = 0;
+            for (int d : directions) {
+                int neighbour = mTopology.neighbour(current, d);
+                if (neighbour >= 0 && mVisited.get(neighbour)) {
+                    visited |= 1 << d;
+                }
+            }
+            mTopology.openWall(current, Topology.randomDirection(visited, mRandGen));
+            markVisited(current);
+        }
+        mTopology = null;
+        mVisited = null;
+    } // end of generateMaze()
+
+    @Override
+    public void setSeed(long seed) {
+        mRandGen = new SplittableRandom(seed);
+    }
+
+    /**
+     * Mark a cell visited, and the other end of its tunnel if it has one.
+     *
+     * @param index the index of the cell
+     */
+    private void markVisited(int index) {
+        mVisited.set(index);
+        int partner = mTopology.tunnelPartner(index);
+        if (partner >= 0) {
+            mVisited.set(partner);
+        }
+    }
+
+} // end of class HuntAndKillGenerator
@@ -0,0 +1,131 @@
+package mazeGenerator;
+
+/**
+ * Binary min-heap of the ints 0 to n - 1, each with an int key, supporting decrease-key.
+ *
+ * The heap keeps the position of every value, so checking membership and lowering a key are O(1) and O(log n),
+ * and nothing is boxed or allocated after construction.
+ */
+final class IndexedIntHeap {
+
+    // values in heap order, the first mSize entries are used
+    private final int mHeap[];
+    // position of each value in mHeap, -1 if it is not in the heap
+    private final int mPos[];
+    // key of each value in the heap
+    private final int mKeys[];
+    private int mSize = 0;
+
+    /**
+     * @param n the number of values, the heap holds values in [0, n)
+     */
+    IndexedIntHeap(int n) {
+        mHeap = new int[n];
+        mPos = new int[n];
+        mKeys = new int[n];
+        for (int i = 0; i < n; i++) {
+            mPos[i] = -1;
+        }
+    }
+
+    boolean isEmpty() {
+        return mSize == 0;
+    }
+
+    /**
+     * @param value a value
+     * @return true if the value is in the heap
+     */
+    boolean contains(int value) {
+        return mPos[value] >= 0;
+    }
+
+    /**
+     * @param value a value in the heap
+     * @return its key
+     */
+    int key(int value) {
+        return mKeys[value];
+    }
+
+    /**
+     * Add a value that is not in the heap.
+     *
+     * @param value the value
+     * @param key its key
+     */
+    void insert(int value, int key) {
+        mKeys[value] = key;
+        mHeap[mSize] = value;
+        mPos[value] = mSize;
+        siftUp(mSize++);
+    }
+
+    /**
+     * Lower the key of a value in the heap.
+     *
+     * @param value the value
+     * @param key its new key, not greater than the current one
+     */
+    void decreaseKey(int value, int key) {
+        mKeys[value] = key;
+        siftUp(mPos[value]);
+    }
+
+    /**
+     * Remove the value with the smallest key.
+     *
+     * @return the value removed
+     */
+    int removeMin() {
+        int min = mHeap[0];
+        mPos[min] = -1;
+        if (--mSize > 0) {
+            mHeap[0] = mHeap[mSize];
+            mPos[mHeap[0]] = 0;
+            siftDown(0);
+        }
+        return min;
+    }
+
+    private void siftUp(int pos) {
+        int value = mHeap[pos];
+        int key = mKeys[value];
+        while (pos > 0) {
+            int parent = (pos - 1) >>> 1;
+            int parentValue = mHeap[parent];
+            if (mKeys[parentValue] <= key) {
+                break;
+            }
+            mHeap[pos] = parentValue;
+            mPos[parentValue] = pos;
+            pos = parent;
+        }
+        mHeap[pos] = value;
+        mPos[value] = pos;
+    }
+
+    private void siftDown(int pos) {
+        int value = mHeap[pos];
+        int key = mKeys[value];
+        while (true) {
+            int child = 2 * pos + 1;
+            if (child >= mSize) {
+                break;
+            }
+            if (child + 1 < mSize && mKeys[mHeap[child + 1]] < mKeys[mHeap[child]]) {
+                child++;
+            }
+            int childValue = mHeap[child];
+            if (mKeys[childValue] >= key) {
+                break;
+            }
+            mHeap[pos] = childValue;
+            mPos[childValue] = pos;
+            pos = child;
+        }
+        mHeap[pos] = value;
+        mPos[value] = pos;
+    }
+
+} // end of class IndexedIntHeap
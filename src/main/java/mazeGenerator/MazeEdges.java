@@ -0,0 +1,109 @@
+package mazeGenerator;
+
+import maze.Maze;
+import maze.Topology;
+
+/**
+ * Numbers the walls between the cells of a maze as packed ints, so edge lists can be kept in int arrays.
+ *
+ * Every wall between two cells is owned by exactly one of them, the one for which it lies in direction
+ * EAST (0), NORTHEAST (1) or NORTHWEST/NORTH (2). The wall is numbered cellIndex * 3 + direction.
+ * Normal and tunnel mazes never use NORTHEAST, and walls on the border of the maze are skipped.
+ * The topology of the maze is built once, when the MazeEdges is, so no call tests the type of the maze.
+ */
+final class MazeEdges {
+
+    /**
+     * Number of directions a cell owns walls in.
+     */
+    static final int DIRS_PER_CELL = 3;
+
+    private final Topology mTopology;
+    // bit d set if the cells of this type of maze own walls in direction d
+    private final int mOwnedDirs;
+
+    /**
+     * @param maze an initialised maze
+     */
+    MazeEdges(Maze maze) {
+        mTopology = Topology.of(maze);
+        int owned = 0;
+        for (int d : mTopology.directions()) {
+            if (d < DIRS_PER_CELL) {
+                owned |= 1 << d;
+            }
+        }
+        mOwnedDirs = owned;
+    }
+
+    /**
+     * Size of the range of edge codes, some of which are not walls between two cells.
+     *
+     * @return one past the largest edge code
+     */
+    int numCodes() {
+        return mTopology.numCells() * DIRS_PER_CELL;
+    }
+
+    /**
+     * Check if an edge code is a wall between two cells of the maze.
+     * Only looks at the coordinates, so no cell object is touched.
+     *
+     * @param code the edge code
+     * @return true if the code is a wall between two cells
+     */
+    boolean isEdge(int code) {
+        int d = code % DIRS_PER_CELL;
+        return (mOwnedDirs & 1 << d) != 0 && mTopology.neighbour(code / DIRS_PER_CELL, d) >= 0;
+    }
+
+    /**
+     * List every wall between two cells of the maze.
+     *
+     * @return the edge codes, in increasing order
+     */
+    int[] allEdges() {
+        int numCodes = numCodes();
+        // count first so the array is allocated at its exact size
+        int count = 0;
+        for (int code = 0; code < numCodes; code++) {
+            if (isEdge(code)) {
+                count++;
+            }
+        }
+        int edges[] = new int[count];
+        int next = 0;
+        for (int code = 0; code < numCodes; code++) {
+            if (isEdge(code)) {
+                edges[next++] = code;
+            }
+        }
+        return edges;
+    }
+
+    /**
+     * @param code an edge code
+     * @return the index of the cell owning the wall
+     */
+    static int from(int code) {
+        return code / DIRS_PER_CELL;
+    }
+
+    /**
+     * @param code an edge code
+     * @return the index of the cell on the other side of the wall
+     */
+    int to(int code) {
+        return mTopology.neighbour(code / DIRS_PER_CELL, code % DIRS_PER_CELL);
+    }
+
+    /**
+     * Knock down a wall.
+     *
+     * @param code the edge code of the wall
+     */
+    void carve(int code) {
+        mTopology.openWall(code / DIRS_PER_CELL, code % DIRS_PER_CELL);
+    }
+
+} // end of class MazeEdges
@@ -16,4 +16,12 @@ public interface MazeGenerator
 	 * @param maze The reference of Maze object to generate. 
 	 */
 	public void generateMaze(Maze maze);
+
+	/**
+	 * Make the following calls to generateMaze() reproducible: after the same seed, the same maze gives the same result.
+	 * Without a seed the choices are different on every run. Generators making no random choice ignore it.
+	 * @param seed The seed of the random choices.
+	 */
+	public default void setSeed(long seed) {
+	}
 } // end of interface mazeGenerator
\ No newline at end of file
@@ -1,12 +1,9 @@
 package mazeGenerator;
 
-import maze.Cell;
 import maze.Maze;
+import maze.Topology;
 
-import java.util.ArrayList;
-import java.util.Random;
-
-import static maze.Maze.HEX;
+import java.util.SplittableRandom;
 
 /**
  * Generate maze with modified prim's algorithm
@@ -15,8 +12,20 @@ import static maze.Maze.HEX;
  */
 public class ModifiedPrimsGenerator implements MazeGenerator {
 
-    private Maze mMaze;
-    private ArrayList<Cell> mAdjacentCells = new ArrayList<>();
+    // state of each cell, indexed by cell index
+    private static final byte OUTSIDE = 0;
+    private static final byte FRONTIER = 1;
+    private static final byte IN_Z = 2;
+
+    private SplittableRandom mRandGen = new SplittableRandom();
+    private Topology mTopology;
+    private byte mState[];
+    // the frontier set F, unordered, and the position of each frontier cell in it
+    private int mFrontier[];
+    private int mFrontierPos[];
+    private int mFrontierSize;
+    // number of cells in the set Z
+    private int mZSize;
 
     /**
      * Generate a perfect maze inside the input maze object, using the following modified prim's algorithm:
@@ -32,158 +41,119 @@ public class ModifiedPrimsGenerator implements MazeGenerator {
      * 2: Randomly select a cell c from the frontier set and remove it from F.
      *    Randomly select a cell b that is in Z and adjacent to the cell c.
      *    Carve a path between c and b.
-     * 3: Add cell c to the set Z.
+     * 3: Add cell c to the set Z, and put its neighbouring cells that are not in Z into F.
+     *    If c is one end of a tunnel, add the other end to Z too, the tunnel connects it.
      * 4: Repeat step 2 until Z includes every cell in the maze.
      *
+     * Membership of Z and F is kept per cell index in a state array, and F is an array of cell indices where
+     * a cell is removed by moving the last one into its place. The cells b are found among the neighbours of c,
+     * so each step is O(1) and nothing is searched or allocated in the loop.
+     *
      * @param maze The reference of Maze object to generate.
      */
     @Override
     public void generateMaze(Maze maze) {
-        Random randGen = new Random(System.currentTimeMillis());
-        mMaze = maze;
-        int numCells = 0;
-        ArrayList<Cell> z = new ArrayList<>();
-        ArrayList<Cell> f = new ArrayList<>();
-        Cell currentCell = null;
-
-        if ((maze.type == Maze.NORMAL) || (maze.type == Maze.TUNNEL)) {
-
-            // Get the number of cells in a normal maze
-            numCells = maze.sizeR * maze.sizeC;
-
-            // (Step 1) Pick a random starting cell and call it the current cell
-            int randomRow = randGen.nextInt(maze.sizeR);
-            int randomCol = randGen.nextInt(maze.sizeC);
-            currentCell = maze.map[randomRow][randomCol];
-        } else if (maze.type == Maze.HEX) {
-
-            // List valid hex cells in the maze
-            ArrayList<Cell> validCells = new ArrayList<>();
-            for (int i = 0; i < maze.sizeR; i++) {
-                for (int j = (i + 1) / 2; j < maze.sizeC + (i + 1) / 2; j++) {
-                    if (!isIn(i, j))
-                        continue;
-                    validCells.add(mMaze.map[i][j]);
-                }
-            }
-
-            // Get the number of cells in a hex maze
-            numCells = validCells.size();
-
-            // (Step 1) Pick a random starting cell and call it the current cell
-            currentCell = validCells.get(randGen.nextInt(validCells.size()));
-        }
+        mTopology = Topology.of(maze);
+        int numCells = mTopology.numCells();
+        mState = new byte[numCells];
+        mFrontier = new int[numCells];
+        mFrontierPos = new int[numCells];
+        mFrontierSize = 0;
+        mZSize = 0;
 
-        // (Step 1) Add the current cell to z
-        z.add(currentCell);
+        // (Step 1) Pick a random starting cell and add it to z
+        addToZ(mRandGen.nextInt(numCells));
 
         // (Step 4) Keep looping until all cells are in z; every cell has been visited
-        while (z.size() < numCells) {
-
-            // (Step 1) Put all neighboring cells of the current cell into the frontier set f
-            addToF(currentCell, z, f);
+        while (mZSize < numCells) {
 
             // (Step 2) Randomly select a cell c from the frontier set and remove it from f
-            Cell c = f.get(randGen.nextInt(f.size()));
-            f.remove(c);
-
-            // (Step 2) List all cells in z that are adjacent to the cell c
-            mAdjacentCells.clear();
-            listCellsInZAdjacentToC(z, c);
+            int c = mFrontier[mRandGen.nextInt(mFrontierSize)];
+            removeFromF(c);
 
-            // (Step 2) Randomly select a cell b from adjacent cells
-            Cell b = mAdjacentCells.get(randGen.nextInt(mAdjacentCells.size()));
-
-            // (Step 2) Carve a path between c and b
-            carvePath(c, b);
+            // (Step 2) Randomly select a cell b in z adjacent to c, and carve a path between them
+            mTopology.openWall(c, Topology.randomDirection(directionsToZ(c), mRandGen));
 
             // (Step 3) Add cell c to z
-            z.add(c);
-
-            // (Step 4) Reset current cell to c
-            currentCell = c;
+            addToZ(c);
         }
+        mTopology = null;
+        mState = null;
+        mFrontier = null;
+        mFrontierPos = null;
     } // end of generateMaze()
 
-    /**
-     * Add the neighbors of the current cell to the frontier set F if they are not already in the set F or Z
-     *
-     * @param currentCell the current cell
-     * @param z the set Z
-     * @param f the frontier set F
-     */
-    private void addToF(Cell currentCell, ArrayList<Cell> z, ArrayList<Cell> f) {
-        for (int i = 0; i < Maze.NUM_DIR; i++) {
-            Cell currentNeighbor = currentCell.neigh[i];
-            if ((isIn(currentNeighbor)) && (!f.contains(currentNeighbor)) && (!z.contains(currentNeighbor))) {
-                f.add(currentNeighbor);
-            }
-        }
+    @Override
+    public void setSeed(long seed) {
+        mRandGen = new SplittableRandom(seed);
     }
 
     /**
-     * List all the cells in z that are adjacent to the cell c
+     * Add a cell to the set Z and its neighbours to F, and the same for the other end of its tunnel if it has one
      *
-     * @param z the set Z
-     * @param c the cell c
+     * @param index the index of the cell
      */
-    private void listCellsInZAdjacentToC(ArrayList<Cell> z, Cell c) {
-        for (int i = 0; i < z.size(); i++) {
-            Cell cellToCheck = z.get(i);
-            if (isAdjacent(cellToCheck, c)) {
-                mAdjacentCells.add(cellToCheck);
+    private void addToZ(int index) {
+        mState[index] = IN_Z;
+        mZSize++;
+        addToF(index);
+
+        // (Step 3) The other end of a tunnel joins with no wall knocked down
+        int end = mTopology.tunnelPartner(index);
+        if (end >= 0 && mState[end] != IN_Z) {
+            if (mState[end] == FRONTIER) {
+                removeFromF(end);
             }
+            mState[end] = IN_Z;
+            mZSize++;
+            addToF(end);
         }
     }
 
     /**
-     * Carve a path between cells c and b
+     * Add the neighbors of a cell to the frontier set F if they are not already in the set F or Z
      *
-     * @param c the cell c
-     * @param b the cell b
+     * @param index the index of the cell
      */
-    private void carvePath(Cell c, Cell b) {
-        for (int i = 0; i < Maze.NUM_DIR; i++) {
-            Cell currentNeighbor = b.neigh[i];
-            if ((isIn(currentNeighbor)) && (currentNeighbor == c)) {
-                b.wall[i].present = false;
+    private void addToF(int index) {
+        for (int d : mTopology.directions()) {
+            int neighbor = mTopology.neighbour(index, d);
+            if (neighbor >= 0 && mState[neighbor] == OUTSIDE) {
+                mState[neighbor] = FRONTIER;
+                mFrontierPos[neighbor] = mFrontierSize;
+                mFrontier[mFrontierSize++] = neighbor;
             }
         }
     }
 
     /**
-     * Check if a cell is in the maze
+     * Remove a cell from the frontier set F, moving the last cell of F into its place
      *
-     * @param row the row of the cell to check
-     * @param column the column of the cell to check
-     * @return weather the cell is in the maze
+     * @param index the index of the cell to remove
      */
-    private boolean isIn(int row, int column) {
-        if (mMaze.type == HEX) {
-            return row >= 0 && row < mMaze.sizeR && column >= (row + 1) / 2 && column < mMaze.sizeC + (row + 1) / 2;
-        } else {
-            return row >= 0 && row < mMaze.sizeR && column >= 0 && column < mMaze.sizeC;
-        }
+    private void removeFromF(int index) {
+        int last = mFrontier[--mFrontierSize];
+        int pos = mFrontierPos[index];
+        mFrontier[pos] = last;
+        mFrontierPos[last] = pos;
+        mState[index] = OUTSIDE;
     }
 
     /**
-     * Check whether the cell is in the maze.
+     * Find the cells in z that are adjacent to the cell c, by looking only at the neighbours of c
      *
-     * @param cell The cell being checked.
-     * @return True if in the maze. Otherwise false.
+     * @param c the index of the cell c
+     * @return the directions of those cells from c, bit d set for direction d
      */
-    private boolean isIn(Cell cell) {
-        return cell != null && isIn(cell.r, cell.c);
-    }
-
-    private boolean isAdjacent(Cell firstCell, Cell secondCell) {
-        for (int i = 0; i < Maze.NUM_DIR; i++) {
-            Cell currentNeighbor = firstCell.neigh[i];
-            if (currentNeighbor == secondCell) {
-                return true;
+    private int directionsToZ(int c) {
+        int mask = 0;
+        for (int d : mTopology.directions()) {
+            int neighbor = mTopology.neighbour(c, d);
+            if (neighbor >= 0 && mState[neighbor] == IN_Z) {
+                mask |= 1 << d;
             }
         }
-        return false;
+        return mask;
     }
 
 } // end of class ModifiedPrimsGenerator
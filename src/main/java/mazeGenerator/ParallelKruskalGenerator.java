@@ -0,0 +1,165 @@
+package mazeGenerator;
+
+import maze.Cell;
+import maze.Maze;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.stream.IntStream;
+
+/**
+ * Generate maze with a parallel filter-Kruskal algorithm, using every available core.
+ *
+ * Each wall gets a random priority and the walls are processed in batches of increasing priority, as Kruskal's
+ * algorithm would. Within a batch, walls whose cells are already connected are filtered out in parallel, and the
+ * remaining walls are joined in parallel on a lock-free disjoint-set forest with deterministic reservations:
+ * a wall is only joined once no wall of higher priority is left on one of its sets. The maze is therefore
+ * the one sequential Kruskal gives with the same priorities, whatever the threads do, and a seed fixes it.
+ */
+public class ParallelKruskalGenerator implements MazeGenerator {
+
+    // walls processed between two synchronisations of the threads
+    private static final int BATCH_SIZE = 1 << 16;
+    // walls given priorities by one random stream
+    private static final int CHUNK_SIZE = 1 << 16;
+    // reservation of a set that no wall has reserved
+    private static final int FREE = Integer.MAX_VALUE;
+
+    private SplittableRandom mRandGen = new SplittableRandom();
+
+    /**
+     * Generate a perfect maze inside the input maze object, using the following algorithm:
+     *
+     * ALGORITHM PARALLELKRUSKAL(M)
+     * Input: Maze M, all walls built up, start and exit points marked.
+     * Output: Maze M, appropriate walls knocked down to form a perfect maze from start to exit.
+     *
+     * 1: Put every cell in a set of its own, and merge the sets of the two ends of every tunnel.
+     * 2: Give every wall a random priority and sort the walls by priority, in parallel.
+     * 3: Take the next batch of walls. In parallel, drop the walls whose two cells are in the same set.
+     * 4: In parallel, every wall left in the batch reserves the sets of its two cells, each set keeping the
+     *    wall of highest priority. The walls holding a reservation break the wall and merge the sets, the
+     *    walls whose cells are now in one set are dropped, the others try again. Repeat until no wall is
+     *    left in the batch; the first wall left always holds its reservations.
+     * 5: Repeat step 3 until only one set is left.
+     *
+     * @param maze The reference of Maze object to generate.
+     */
+    @Override
+    public void generateMaze(Maze maze) {
+        // (Step 1) Every cell starts in a set of its own
+        ConcurrentDisjointSet sets = new ConcurrentDisjointSet(maze.numCells());
+        if (maze.type == Maze.TUNNEL) {
+            for (int i = 0; i < maze.sizeR; i++) {
+                for (int j = 0; j < maze.sizeC; j++) {
+                    Cell end = maze.map[i][j].tunnelTo;
+                    if (end != null) {
+                        sets.union(maze.cellIndex(i, j), maze.cellIndex(end.r, end.c));
+                    }
+                }
+            }
+        }
+
+        // (Step 2) Pack a random priority above each edge code, with an independent random stream per chunk
+        MazeEdges mazeEdges = new MazeEdges(maze);
+        int edges[] = mazeEdges.allEdges();
+        long order[] = new long[edges.length];
+        int numChunks = (edges.length + CHUNK_SIZE - 1) / CHUNK_SIZE;
+        SplittableRandom streams[] = new SplittableRandom[numChunks];
+        for (int k = 0; k < numChunks; k++) {
+            streams[k] = mRandGen.split();
+        }
+        IntStream.range(0, numChunks).parallel().forEach(k -> {
+            int end = Math.min(edges.length, (k + 1) * CHUNK_SIZE);
+            for (int i = k * CHUNK_SIZE; i < end; i++) {
+                order[i] = ((long) streams[k].nextInt() << 32) | edges[i];
+            }
+        });
+        Arrays.parallelSort(order);
+
+        // Reservation of each set by the position of a wall in its batch, only roots are ever reserved
+        int free[] = new int[maze.numCells()];
+        Arrays.fill(free, FREE);
+        AtomicIntegerArray reservations = new AtomicIntegerArray(free);
+
+        // (Step 5) Batches in priority order until the maze is connected
+        for (int start = 0; start < order.length && sets.numSets() > 1; start += BATCH_SIZE) {
+            int end = Math.min(order.length, start + BATCH_SIZE);
+
+            // (Step 3) Filter out the walls inside a component
+            int candidates[] = IntStream.range(start, end).parallel()
+                    .map(i -> (int) order[i])
+                    .filter(edge -> !sets.sameSet(MazeEdges.from(edge), mazeEdges.to(edge)))
+                    .toArray();
+
+            // (Step 4) Join the rest in priority order
+            joinBatch(candidates, mazeEdges, sets, reservations);
+        }
+    } // end of generateMaze()
+
+    @Override
+    public void setSeed(long seed) {
+        mRandGen = new SplittableRandom(seed);
+    }
+
+    /**
+     * Join the walls of a batch in rounds of deterministic reservations. A wall joins in a round only if it has
+     * the highest priority of the walls left on one of its sets, so no wall of higher priority could have
+     * connected that set to the other one first. The walls joining in one round cannot close a loop either:
+     * around a loop, each wall would need a higher priority than the next one, as both reserved their shared set.
+     *
+     * @param batch the walls left in the batch, in priority order
+     * @param mazeEdges the walls of the maze
+     * @param sets the connected components
+     * @param reservations the reservation of each set, all FREE, and left all FREE
+     */
+    private static void joinBatch(int batch[], MazeEdges mazeEdges, ConcurrentDisjointSet sets,
+                                  AtomicIntegerArray reservations) {
+        // roots of the two cells of each wall in this round, and whether the wall was joined or dropped
+        int roots[] = new int[2 * batch.length];
+        boolean done[] = new boolean[batch.length];
+        int remaining[] = batch;
+        while (remaining.length > 0) {
+            int edges[] = remaining;
+
+            // Reserve both sets, keeping the smallest position on each
+            IntStream.range(0, edges.length).parallel().forEach(i -> {
+                int rootFrom = sets.find(MazeEdges.from(edges[i]));
+                int rootTo = sets.find(mazeEdges.to(edges[i]));
+                roots[2 * i] = rootFrom;
+                roots[2 * i + 1] = rootTo;
+                if (rootFrom != rootTo) {
+                    reservations.accumulateAndGet(rootFrom, i, Math::min);
+                    reservations.accumulateAndGet(rootTo, i, Math::min);
+                }
+            });
+
+            // Join the walls holding a set; each set is freed by the one wall holding it
+            IntStream.range(0, edges.length).parallel().forEach(i -> {
+                int rootFrom = roots[2 * i];
+                int rootTo = roots[2 * i + 1];
+                if (rootFrom == rootTo) {
+                    done[i] = true;
+                    return;
+                }
+                boolean holdsFrom = reservations.get(rootFrom) == i;
+                boolean holdsTo = reservations.get(rootTo) == i;
+                done[i] = holdsFrom || holdsTo;
+                if (done[i]) {
+                    sets.union(rootFrom, rootTo);
+                    mazeEdges.carve(edges[i]);
+                }
+                if (holdsFrom) {
+                    reservations.set(rootFrom, FREE);
+                }
+                if (holdsTo) {
+                    reservations.set(rootTo, FREE);
+                }
+            });
+
+            remaining = IntStream.range(0, edges.length).filter(i -> !done[i]).map(i -> edges[i]).toArray();
+        }
+    } // end of joinBatch()
+
+} // end of class ParallelKruskalGenerator
@@ -0,0 +1,69 @@
+package mazeGenerator;
+
+import java.util.SplittableRandom;
+
+/**
+ * A random bijection of the ints 0 to n - 1 onto themselves, computed on demand in O(1) memory.
+ *
+ * Uses a four round Feistel network on the smallest even number of bits covering n, with round keys drawn from
+ * the given random generator. Values that land outside [0, n) are fed back through the network (cycle walking),
+ * which at most quadruples the expected work since the network's domain is less than 4n. The network works on
+ * longs, as its domain is up to 32 bits wide for sizes above 2^30.
+ */
+final class RandomPermutation {
+
+    private static final int ROUNDS = 4;
+
+    private final int mSize;
+    private final int mHalfBits;
+    private final int mHalfMask;
+    private final int mKeys[] = new int[ROUNDS];
+
+    /**
+     * @param size the number of values to permute
+     * @param randGen source of the round keys
+     */
+    RandomPermutation(int size, SplittableRandom randGen) {
+        mSize = size;
+        int bits = 2;
+        while ((1L << bits) < size) {
+            bits += 2;
+        }
+        mHalfBits = bits / 2;
+        mHalfMask = (1 << mHalfBits) - 1;
+        for (int i = 0; i < ROUNDS; i++) {
+            mKeys[i] = randGen.nextInt();
+        }
+    }
+
+    /**
+     * @param index a position in [0, size)
+     * @return the value at that position of the permutation, in [0, size)
+     */
+    int get(int index) {
+        long value = index;
+        do {
+            value = encrypt(value);
+        } while (value >= mSize);
+        return (int) value;
+    }
+
+    private long encrypt(long value) {
+        int left = (int) (value >>> mHalfBits);
+        int right = (int) (value & mHalfMask);
+        for (int i = 0; i < ROUNDS; i++) {
+            int temp = right;
+            right = (left ^ round(right, mKeys[i])) & mHalfMask;
+            left = temp;
+        }
+        return ((long) left << mHalfBits) | right;
+    }
+
+    private static int round(int x, int key) {
+        int h = (x ^ key) * 0x9E3779B1;
+        h ^= h >>> 15;
+        h *= 0x85EBCA77;
+        return h ^ (h >>> 13);
+    }
+
+} // end of class RandomPermutation
@@ -1,14 +1,10 @@
 package mazeGenerator;
 
-import maze.Cell;
 import maze.Maze;
+import maze.Topology;
 
-import java.util.ArrayList;
-import java.util.HashSet;
-import java.util.Random;
-import java.util.Stack;
+import java.util.SplittableRandom;
 
-import static maze.Maze.HEX;
 import static maze.Maze.NUM_DIR;
 
 /**
@@ -18,12 +14,23 @@ import static maze.Maze.NUM_DIR;
  */
 public class RecursiveBacktrackerGenerator implements MazeGenerator {
 
-    private Random mRandGen = new Random(System.currentTimeMillis());
-    private Maze mMaze;
-    private boolean mNormalVisited[][];
-    private HashSet<Cell> mHexVisited;
-    private Cell mCurrentCell;
-    private ArrayList<Cell> mValidCells;
+    // direction number used for going through a tunnel
+    private static final int TUNNEL_DIR = NUM_DIR;
+
+    // state of a cell, two bits per cell index in mState
+    private static final int UNVISITED = 0;
+    private static final int VISITED = 1;
+    // the other end of a tunnel is visited, this end may only be reached through the tunnel
+    private static final int LOCKED = 2;
+    private static final int CELLS_PER_WORD = 32;
+
+    private SplittableRandom mRandGen = new SplittableRandom();
+    private Topology mTopology;
+    private long mState[];
+    private int mCurrentCell;
+    // cells to backtrack to, as cell indices
+    private int mStack[];
+    private int mStackSize;
 
     /**
      * Generate a perfect maze inside the input maze object, using the following recursive backtracker algorithm:
@@ -46,260 +53,126 @@ public class RecursiveBacktrackerGenerator implements MazeGenerator {
      * 4: When there are no more unvisited neighbours for all cells,
      *    then every cell would have been visited and we have generated a perfect maze.
      *
+     * The unvisited neighbours are kept as a bit mask of directions and the cells to backtrack to in an int stack,
+     * so no object is allocated while carving. The same loop serves every type of maze through its Topology.
+     *
      * @param maze The reference of Maze object to generate
      */
     @Override
     public void generateMaze(Maze maze) {
-        mMaze = maze;
-        mNormalVisited = new boolean[maze.sizeR][maze.sizeC];
-        mHexVisited = new HashSet<>();
-        int numCellsUnvisited;
+        mTopology = Topology.of(maze);
+        int numCells = mTopology.numCells();
+        int directions[] = mTopology.directions();
+        mState = new long[(numCells + CELLS_PER_WORD - 1) / CELLS_PER_WORD];
+        mStack = new int[numCells];
+        mStackSize = 0;
+        int numCellsUnvisited = numCells;
         boolean thereAreUnvisitedNeighbors = true;
         int randomNeighbor;
-        Stack<Cell> previousCell = new Stack<>();
-        ArrayList<Cell> lockedCells = new ArrayList<>();
-
-        if (maze.type == Maze.NORMAL) {
-            numCellsUnvisited = maze.sizeR * maze.sizeC;
-
-            // (Step 1) Randomly pick a starting cell
-            selectStartingCell();
-
-            // Mark starting cell as visited
-            mNormalVisited[mCurrentCell.r][mCurrentCell.c] = true;
-            numCellsUnvisited--;
-
-            // (Step 4) Visit every cell in the maze to ensure a perfect maze
-            while (numCellsUnvisited > 0) {
 
-                // (Step 3) Keep doing step 2 until no more unvisited neighbours
-                while (thereAreUnvisitedNeighbors) {
+        // (Step 1) Randomly pick a starting cell
+        mCurrentCell = mRandGen.nextInt(numCells);
 
-                    // (Step 2) List all unvisited neighbors
-                    ArrayList<Integer> unvisitedNeighbors = new ArrayList<>();
-                    for (int i = 0; i < NUM_DIR; i++) {
-                        Cell currentNeighbor = mCurrentCell.neigh[i];
-                        if ((isIn(currentNeighbor)) && (notVisited(currentNeighbor))) {
-                            unvisitedNeighbors.add(i);
-                        }
-                    }
+        // Mark starting cell as visited
+        markVisited(mCurrentCell);
+        numCellsUnvisited--;
 
-                    // (Step 2) Randomly pick an unvisited neighbour
-                    if (unvisitedNeighbors.size() > 0) {
-                        randomNeighbor = unvisitedNeighbors.get(mRandGen.nextInt(unvisitedNeighbors.size()));
+        // (Step 4) Visit every cell in the maze to ensure a perfect maze
+        while (numCellsUnvisited > 0) {
 
-                        // (Step 2) Carve a path and move to the random unvisited neighbor
-                        mCurrentCell.wall[randomNeighbor].present = false;
-                        previousCell.add(mCurrentCell);
-                        mCurrentCell = mCurrentCell.neigh[randomNeighbor];
+            // (Step 3) Keep doing step 2 until no more unvisited neighbours
+            while (thereAreUnvisitedNeighbors) {
 
-                        // Mark the new current cell as visited
-                        mNormalVisited[mCurrentCell.r][mCurrentCell.c] = true;
-                        numCellsUnvisited--;
-                    } else {
-                        thereAreUnvisitedNeighbors = false;
+                // (Step 2) List all unvisited neighbors
+                int unvisitedNeighbors = 0;
+                for (int d : directions) {
+                    int currentNeighbor = mTopology.neighbour(mCurrentCell, d);
+                    if ((currentNeighbor >= 0) && (stateOf(currentNeighbor) == UNVISITED)) {
+                        unvisitedNeighbors |= 1 << d;
                     }
                 }
 
-                // (Step 3) Backtrack to the previous cell
-                if (previousCell.size() > 0) {
-                    mCurrentCell = previousCell.pop();
-                }
+                int tunnelEnd = mTopology.tunnelPartner(mCurrentCell);
+                if ((tunnelEnd >= 0) && (stateOf(tunnelEnd) != VISITED)) {
 
-                // (Step 3) Assume unvisited neighbors at the previous cell
-                thereAreUnvisitedNeighbors = true;
-            }
-        } else if (maze.type == Maze.HEX) {
-
-            // List valid hex cells in the maze
-            mValidCells = new ArrayList<>();
-            for (int i = 0; i < maze.sizeR; i++) {
-                for (int j = (i + 1) / 2; j < maze.sizeC + (i + 1) / 2; j++) {
-                    if (!isIn(i, j))
-                        continue;
-                    mValidCells.add(mMaze.map[i][j]);
+                    // (Step 2) Add an extra neighbor position for the tunnel neighbor
+                    unvisitedNeighbors |= 1 << TUNNEL_DIR;
                 }
-            }
-
-            // Set the number of cells still to visit
-            numCellsUnvisited = mValidCells.size();
 
-            // (Step 1) Randomly pick a starting cell
-            selectStartingCell();
+                // (Step 2) Randomly pick an unvisited neighbour
+                if (unvisitedNeighbors != 0) {
+                    randomNeighbor = Topology.randomDirection(unvisitedNeighbors, mRandGen);
+                    mStack[mStackSize++] = mCurrentCell;
 
-            // Mark starting cell as visited
-            mHexVisited.add(mCurrentCell);
-            numCellsUnvisited--;
-
-            // (Step 4) Visit every cell in the maze to ensure a perfect maze
-            while (numCellsUnvisited > 0) {
-
-                // (Step 3) Keep doing step 2 until no more unvisited neighbours
-                while (thereAreUnvisitedNeighbors) {
-
-                    // (Step 2) List all unvisited neighbors
-                    ArrayList<Integer> unvisitedNeighbors = new ArrayList<>();
-                    for (int i = 0; i < Maze.NUM_DIR; i++) {
-                        Cell currentNeighbor = mCurrentCell.neigh[i];
-                        if ((isIn(currentNeighbor)) && (notVisited(currentNeighbor))) {
-                            unvisitedNeighbors.add(i);
-                        }
-                    }
-
-                    // (Step 2) Randomly pick an unvisited neighbour
-                    if (unvisitedNeighbors.size() > 0) {
-                        randomNeighbor = unvisitedNeighbors.get(mRandGen.nextInt(unvisitedNeighbors.size()));
-
-                        // (Step 2) Carve a path and move to the random unvisited neighbor
-                        mCurrentCell.wall[randomNeighbor].present = false;
-                        previousCell.add(mCurrentCell);
-                        mCurrentCell = mCurrentCell.neigh[randomNeighbor];
-
-                        // Mark the new current cell as visited
-                        mHexVisited.add(mCurrentCell);
-                        numCellsUnvisited--;
+                    // (Step 2) Carve a path and move to the random unvisited neighbor
+                    if (randomNeighbor != TUNNEL_DIR) {
+                        mTopology.openWall(mCurrentCell, randomNeighbor);
+                        mCurrentCell = mTopology.neighbour(mCurrentCell, randomNeighbor);
                     } else {
-                        thereAreUnvisitedNeighbors = false;
-                    }
-                }
-
-                // (Step 3) Backtrack to the previous cell
-                if (previousCell.size() > 0) {
-                    mCurrentCell = previousCell.pop();
-                }
-
-                // (Step 3) Assume unvisited neighbors at the previous cell
-                thereAreUnvisitedNeighbors = true;
-            }
-        } else if (maze.type == Maze.TUNNEL) {
-            numCellsUnvisited = maze.sizeR * maze.sizeC;
-
-            // (Step 1) Randomly pick a starting cell
-            selectStartingCell();
 
-            // Mark starting cell as visited
-            mNormalVisited[mCurrentCell.r][mCurrentCell.c] = true;
-            numCellsUnvisited--;
-
-            // (Step 4) Visit every cell in the maze to ensure a perfect maze
-            while (numCellsUnvisited > 0) {
-
-                // (Step 3) Keep doing step 2 until no more unvisited neighbours
-                while (thereAreUnvisitedNeighbors) {
-
-                    // (Step 2) List all unvisited neighbors
-                    ArrayList<Integer> unvisitedNeighbors = new ArrayList<>();
-                    for (int i = 0; i < NUM_DIR; i++) {
-                        Cell currentNeighbor = mCurrentCell.neigh[i];
-                        if ((isIn(currentNeighbor)) && (notVisited(currentNeighbor))
-                                && (!lockedCells.contains(currentNeighbor))) {
-                            unvisitedNeighbors.add(i);
-                        }
+                        // Go through the tunnel, no need to carve a path
+                        mCurrentCell = tunnelEnd;
                     }
 
-                    if ((mCurrentCell.tunnelTo != null)
-                            && (!mNormalVisited[mCurrentCell.tunnelTo.r][mCurrentCell.tunnelTo.c])) {
-
-                        // (Step 2) Add an extra neighbor position for the tunnel neighbor
-                        unvisitedNeighbors.add(6);
-                    }
-
-                    // (Step 2) Randomly pick an unvisited neighbour
-                    if (unvisitedNeighbors.size() > 0) {
-                        int randomNeighborIndex = mRandGen.nextInt(unvisitedNeighbors.size());
-                        randomNeighbor = unvisitedNeighbors.get(randomNeighborIndex);
-
-                        // (Step 2) Carve a path and move to the random unvisited neighbor
-                        if (randomNeighbor != 6) {
-
-                            // Don't go through the tunnel if there is one
-
-                            // Lock the other end of the tunnel if there is one
-                            if (mCurrentCell.tunnelTo != null) {
-                                lockedCells.add(mCurrentCell.tunnelTo);
-                            }
-
-                            // Carve path and move
-                            mCurrentCell.wall[randomNeighbor].present = false;
-                            previousCell.add(mCurrentCell);
-                            mCurrentCell = mCurrentCell.neigh[randomNeighbor];
-                        } else {
-
-                            // Go through the tunnel, no need to carve a path
-                            previousCell.add(mCurrentCell);
-                            mCurrentCell = mCurrentCell.tunnelTo;
-                        }
-
-                        // Mark the new current cell as visited
-                        mNormalVisited[mCurrentCell.r][mCurrentCell.c] = true;
-                        numCellsUnvisited--;
-                    } else {
-                        thereAreUnvisitedNeighbors = false;
-                    }
-                }
-
-                // (Step 3) Backtrack to the previous cell
-                if (previousCell.size() > 0) {
-                    mCurrentCell = previousCell.pop();
+                    // Mark the new current cell as visited
+                    markVisited(mCurrentCell);
+                    numCellsUnvisited--;
+                } else {
+                    thereAreUnvisitedNeighbors = false;
                 }
+            }
 
-                // (Step 3) Assume unvisited neighbors at the previous cell
-                thereAreUnvisitedNeighbors = true;
+            // (Step 3) Backtrack to the previous cell
+            if (mStackSize > 0) {
+                mCurrentCell = mStack[--mStackSize];
             }
+
+            // (Step 3) Assume unvisited neighbors at the previous cell
+            thereAreUnvisitedNeighbors = true;
         }
+        mTopology = null;
+        mState = null;
+        mStack = null;
     } // end of generateMaze()
 
-    /**
-     * Check if a cell has not been visited
-     *
-     * @param cell the cell
-     */
-    private boolean notVisited(Cell cell) {
-        if (mMaze.type == HEX) {
-            return !mHexVisited.contains(cell);
-        } else {
-            return !mNormalVisited[cell.r][cell.c];
-        }
+    @Override
+    public void setSeed(long seed) {
+        mRandGen = new SplittableRandom(seed);
     }
 
     /**
-     * Randomly select a starting cell for the maze.
+     * Mark a cell as visited, and lock the other end of its tunnel if it has one that is not visited yet.
+     * Locking as soon as one end is visited means the other end can only be reached through the tunnel,
+     * so a tunnel never joins two cells that were reached another way.
+     *
+     * @param index the index of the cell
      */
-    private void selectStartingCell() {
-        if (mMaze.type == HEX) {
-            mCurrentCell = mValidCells.get(mRandGen.nextInt(mValidCells.size()));
-        } else {
-            int randomRow = mRandGen.nextInt(mMaze.sizeR);
-            int randomCol = mRandGen.nextInt(mMaze.sizeC);
-            mCurrentCell = mMaze.map[randomRow][randomCol];
+    private void markVisited(int index) {
+        setState(index, VISITED);
+        int tunnelEnd = mTopology.tunnelPartner(index);
+        if ((tunnelEnd >= 0) && (stateOf(tunnelEnd) == UNVISITED)) {
+            setState(tunnelEnd, LOCKED);
         }
     }
 
     /**
-     * Check if a cell is in the maze
-     *
-     * @param row the row of the cell to check
-     * @param column the column of the cell to check
-     * @return weather the cell is in the maze
+     * @param index the index of the cell
+     * @return the state of the cell
      */
-    private boolean isIn(int row, int column) {
-        if (mMaze.type == HEX) {
-            return row >= 0 && row < mMaze.sizeR && column >= (row + 1) / 2 && column < mMaze.sizeC + (row + 1) / 2;
-        } else {
-            return row >= 0 && row < mMaze.sizeR && column >= 0 && column < mMaze.sizeC;
-        }
+    private int stateOf(int index) {
+        return (int) (mState[index / CELLS_PER_WORD] >>> ((index % CELLS_PER_WORD) * 2)) & 3;
     }
 
     /**
-     * Check whether the cell is in the maze.
-     *
-     * @param cell The cell being checked.
-     * @return True if in the maze. Otherwise false.
+     * @param index the index of the cell
+     * @param state the new state of the cell
      */
-    private boolean isIn(Cell cell) {
-        return cell != null && isIn(cell.r, cell.c);
+    private void setState(int index, int state) {
+        int shift = (index % CELLS_PER_WORD) * 2;
+        long word = mState[index / CELLS_PER_WORD] & ~(3L << shift);
+        mState[index / CELLS_PER_WORD] = word | ((long) state << shift);
     }
 } // end of class RecursiveBacktrackerGenerator
 
 // until we reach a cell with no unvisited neighbords
-// Then back track
\ No newline at end of file
+// Then back track
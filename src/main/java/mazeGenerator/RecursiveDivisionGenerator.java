@@ -0,0 +1,175 @@
+package mazeGenerator;
+
+import maze.Cell;
+import maze.Maze;
+import maze.NormalMaze;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Generate maze with the recursive division algorithm, building walls up in an empty maze.
+ *
+ * The two chambers of a division share nothing, so they are divided in parallel on a ForkJoinPool, each task with its
+ * own random stream split from its parent's. Chambers of fewer than SEQUENTIAL_CELLS cells are divided in the task.
+ */
+public class RecursiveDivisionGenerator implements MazeGenerator {
+
+    // chambers smaller than this are divided without forking
+    private static final int SEQUENTIAL_CELLS = 4096;
+
+    private final ForkJoinPool mPool;
+    private SplittableRandom mRandGen = new SplittableRandom();
+
+    public RecursiveDivisionGenerator() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * @param pool the pool dividing the chambers
+     */
+    public RecursiveDivisionGenerator(ForkJoinPool pool) {
+        mPool = pool;
+    }
+
+    /**
+     * Generate a perfect maze inside the input maze object, using the following algorithm:
+     *
+     * ALGORITHM RECURSIVE DIVISION(M)
+     * Input: Maze M, all walls built up, start and exit points marked.
+     * Output: Maze M, appropriate walls knocked down to form a perfect maze from start to exit.
+     *
+     * 1: Knock down every wall inside the maze, which is then a single chamber.
+     * 2: Divide the chamber in two with a wall across it, along its longer side, leaving a gap of one cell.
+     * 3: Divide both chambers the same way, until they are one cell wide.
+     * 4: Tunnels close loops in the maze, which is connected already. Put the two ends of every tunnel in the same
+     *    set, then go through the open walls in random order, merging the sets on both sides, and rebuild the walls
+     *    between cells of the same set: one per tunnel.
+     *
+     * Only works on normal and tunnel mazes, hex rows cannot be divided by a straight wall.
+     *
+     * @param maze The reference of Maze object to generate.
+     */
+    @Override
+    public void generateMaze(Maze maze) {
+        if (maze.type == Maze.HEX || !(maze instanceof NormalMaze)) {
+            throw new IllegalArgumentException("Recursive division only generates normal and tunnel mazes.");
+        }
+
+        // (Step 1) A single chamber
+        ((NormalMaze) maze).clearInteriorWalls();
+
+        // (Steps 2 and 3) Divide it
+        mPool.invoke(new Chamber(maze.map, 0, 0, maze.sizeR, maze.sizeC, mRandGen.split()));
+
+        // (Step 4) Break the loops closed by tunnels
+        if (maze.type == Maze.TUNNEL) {
+            TunnelLoops.breakLoops(maze, mRandGen);
+        }
+    } // end of generateMaze()
+
+    @Override
+    public void setSeed(long seed) {
+        mRandGen = new SplittableRandom(seed);
+    }
+
+    /**
+     * Divides a chamber, forking for the halves that are large enough.
+     */
+    private static class Chamber extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final Cell mMap[][];
+        private int mRow;
+        private int mCol;
+        private int mRows;
+        private int mCols;
+        private final SplittableRandom mRandGen;
+        // next chamber forked by the same task
+        private Chamber mNextForked;
+
+        Chamber(Cell map[][], int row, int col, int rows, int cols, SplittableRandom randGen) {
+            mMap = map;
+            mRow = row;
+            mCol = col;
+            mRows = rows;
+            mCols = cols;
+            mRandGen = randGen;
+        }
+
+        @Override
+        protected void compute() {
+            Chamber forked = null;
+
+            // (Step 3) Chambers one cell wide are corridors, they need no more walls
+            while (mRows > 1 && mCols > 1) {
+                Chamber other = divide();
+                if ((long) other.mRows * other.mCols >= SEQUENTIAL_CELLS) {
+                    other.mNextForked = forked;
+                    forked = other;
+                    other.fork();
+                } else {
+                    other.compute();
+                }
+            }
+            for (; forked != null; forked = forked.mNextForked) {
+                forked.join();
+            }
+        }
+
+        /**
+         * (Step 2) Build a wall across the chamber with one gap, keep the larger half and return the other one.
+         *
+         * @return the other half
+         */
+        private Chamber divide() {
+            boolean horizontal = mRows > mCols || (mRows == mCols && mRandGen.nextBoolean());
+            Chamber other;
+            if (horizontal) {
+                // wall on the NORTH side of row r, between rows r and r + 1
+                int r = mRow + mRandGen.nextInt(mRows - 1);
+                int gap = mCol + mRandGen.nextInt(mCols);
+                for (int c = mCol; c < mCol + mCols; c++) {
+                    mMap[r][c].wall[Maze.NORTH].present = c != gap;
+                }
+                int below = r - mRow + 1;
+                other = new Chamber(mMap, mRow, mCol, below, mCols, mRandGen.split());
+                mRow = r + 1;
+                mRows -= below;
+            } else {
+                // wall on the EAST side of column c
+                int c = mCol + mRandGen.nextInt(mCols - 1);
+                int gap = mRow + mRandGen.nextInt(mRows);
+                for (int r = mRow; r < mRow + mRows; r++) {
+                    mMap[r][c].wall[Maze.EAST].present = r != gap;
+                }
+                int left = c - mCol + 1;
+                other = new Chamber(mMap, mRow, mCol, mRows, left, mRandGen.split());
+                mCol = c + 1;
+                mCols -= left;
+            }
+            // keep dividing the larger half in this task
+            if ((long) other.mRows * other.mCols > (long) mRows * mCols) {
+                other.swap(this);
+            }
+            return other;
+        }
+
+        private void swap(Chamber that) {
+            int row = mRow;
+            int col = mCol;
+            int rows = mRows;
+            int cols = mCols;
+            mRow = that.mRow;
+            mCol = that.mCol;
+            mRows = that.mRows;
+            mCols = that.mCols;
+            that.mRow = row;
+            that.mCol = col;
+            that.mRows = rows;
+            that.mCols = cols;
+        }
+    }
+
+} // end of class RecursiveDivisionGenerator
@@ -0,0 +1,62 @@
+package mazeGenerator;
+
+import maze.Cell;
+import maze.Maze;
+
+import java.util.SplittableRandom;
+import java.util.stream.IntStream;
+
+/**
+ * Base of the generators that decide every row of a normal maze on its own, knocking down only walls to the east
+ * and to the next row. Bands of rows are carved in parallel, each with its own random stream split from the
+ * generator's, so threads share nothing and no two threads ever write the same wall.
+ */
+public abstract class RowBandGenerator implements MazeGenerator {
+
+    // rows carved by one task
+    private static final int BAND_ROWS = 64;
+
+    private SplittableRandom mRandGen = new SplittableRandom();
+
+    /**
+     * Carve every row of the maze, bands of rows in parallel.
+     *
+     * @param maze The reference of Maze object to generate, must be a normal maze.
+     */
+    @Override
+    public void generateMaze(Maze maze) {
+        if (maze.type != Maze.NORMAL) {
+            throw new IllegalArgumentException(getClass().getSimpleName() + " only generates normal mazes.");
+        }
+        int numBands = (maze.sizeR + BAND_ROWS - 1) / BAND_ROWS;
+
+        // Split the streams in order, so the result only depends on the generator's stream
+        SplittableRandom bandRandGens[] = new SplittableRandom[numBands];
+        for (int b = 0; b < numBands; b++) {
+            bandRandGens[b] = mRandGen.split();
+        }
+
+        IntStream.range(0, numBands).parallel().forEach(b -> {
+            int lastRow = Math.min(maze.sizeR, (b + 1) * BAND_ROWS);
+            for (int r = b * BAND_ROWS; r < lastRow; r++) {
+                carveRow(maze.map[r], r == maze.sizeR - 1, bandRandGens[b]);
+            }
+        });
+    } // end of generateMaze()
+
+    @Override
+    public void setSeed(long seed) {
+        mRandGen = new SplittableRandom(seed);
+    }
+
+    /**
+     * Knock down the walls of one row. Only the EAST and NORTH walls of the cells of the row may be knocked down,
+     * NORTH leading to the next row.
+     *
+     * @param row the cells of the row
+     * @param isLastRow true for the last row of the maze, which has no NORTH wall to knock down
+     * @param randGen the random stream of the band
+     */
+    protected abstract void carveRow(Cell row[], boolean isLastRow, SplittableRandom randGen);
+
+} // end of class RowBandGenerator
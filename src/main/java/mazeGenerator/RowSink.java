@@ -0,0 +1,17 @@
+package mazeGenerator;
+
+/**
+ * Receives the rows of a maze as they are generated, see EllersGenerator.generateRows().
+ */
+public interface RowSink {
+
+    /**
+     * Called once per row, in order. The arrays are reused for the next row, copy them to keep them.
+     *
+     * @param row the number of the row, starting from 0
+     * @param east true for each cell c with a passage to cell c + 1 of the same row
+     * @param next true for each cell with a passage to the cell of the same column in the next row
+     */
+    void acceptRow(long row, boolean east[], boolean next[]);
+
+} // end of interface RowSink
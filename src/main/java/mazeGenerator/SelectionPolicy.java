@@ -0,0 +1,43 @@
+package mazeGenerator;
+
+import java.util.SplittableRandom;
+
+/**
+ * Chooses which active cell the growing tree algorithm grows from next (see GrowingTreeGenerator).
+ * The active cells are ordered from the oldest, at position 0, to the newest.
+ */
+public interface SelectionPolicy {
+
+    /**
+     * Always the newest cell, which gives the mazes of the recursive backtracker.
+     */
+    SelectionPolicy NEWEST = (size, randGen) -> size - 1;
+
+    /**
+     * Always the oldest cell, which gives long straight corridors from the start.
+     */
+    SelectionPolicy OLDEST = (size, randGen) -> 0;
+
+    /**
+     * A random cell, which gives the mazes of the modified prim's algorithm.
+     */
+    SelectionPolicy RANDOM = (size, randGen) -> randGen.nextInt(size);
+
+    /**
+     * @param size the number of active cells, at least 1
+     * @param randGen the random generator of the maze
+     * @return the position of the cell to grow from, in [0, size)
+     */
+    int select(int size, SplittableRandom randGen);
+
+    /**
+     * Newest cell with a given probability, otherwise a random cell, to blend the two textures.
+     *
+     * @param newestRatio the probability of choosing the newest cell, in [0, 1]
+     * @return the policy
+     */
+    static SelectionPolicy mixed(double newestRatio) {
+        return (size, randGen) -> randGen.nextDouble() < newestRatio ? size - 1 : randGen.nextInt(size);
+    }
+
+} // end of interface SelectionPolicy
@@ -0,0 +1,47 @@
+package mazeGenerator;
+
+import maze.Cell;
+import maze.Maze;
+
+import java.util.SplittableRandom;
+
+/**
+ * Generate maze with the sidewinder algorithm.
+ *
+ * ALGORITHM SIDEWINDER(M)
+ * 1: Walk along each row, extending a run of cells joined by their EAST walls.
+ * 2: At random, and at the end of the row, close the run: knock down the NORTH wall of one random cell of the run
+ *    and start a new run.
+ * 3: In the last row, which has no NORTH walls to knock down, join every cell into a single run.
+ *
+ * Every run is joined to the next row exactly once, so the passages form a tree.
+ */
+public class SidewinderGenerator extends RowBandGenerator {
+
+    @Override
+    protected void carveRow(Cell row[], boolean isLastRow, SplittableRandom randGen) {
+        int last = row.length - 1;
+
+        // (Step 3) A single run
+        if (isLastRow) {
+            for (int c = 0; c < last; c++) {
+                row[c].wall[Maze.EAST].present = false;
+            }
+            return;
+        }
+
+        int runStart = 0;
+        for (int c = 0; c <= last; c++) {
+            if (c == last || randGen.nextBoolean()) {
+                // (Step 2) Close the run
+                int chosen = runStart + randGen.nextInt(c - runStart + 1);
+                row[chosen].wall[Maze.NORTH].present = false;
+                runStart = c + 1;
+            } else {
+                // (Step 1) Extend the run
+                row[c].wall[Maze.EAST].present = false;
+            }
+        }
+    }
+
+} // end of class SidewinderGenerator
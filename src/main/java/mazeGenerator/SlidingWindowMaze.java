@@ -0,0 +1,140 @@
+package mazeGenerator;
+
+import maze.Maze;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * An endless normal maze, generated with Eller's algorithm one row at a time, of which only the newest rows are kept.
+ *
+ * At most windowRows rows are resident; adding a row past that forgets the oldest one, so memory stays proportional
+ * to windowRows * width however far the maze goes. Eller's algorithm never looks back at finished rows, so every
+ * finite part of the stream is free of loops, and every set of the newest row goes on into the next one.
+ *
+ * The passages of the newest row towards the next one are only drawn when the next row is added, so a caller
+ * (see mazeSolver.SlidingWindowSolver) can first require some of them with forceNext().
+ */
+public class SlidingWindowMaze {
+
+    private final int mWidth;
+    private final int mWindowRows;
+    private final EllerRowGenerator mEngine;
+    // passages of the resident rows, row r is kept at r % windowRows
+    private final boolean mEast[][];
+    private final boolean mNext[][];
+    // passages of each resident row to the previous one, kept with the row as the previous row may be gone
+    private final boolean mPrev[][];
+    // number of rows added so far, the newest row is mNumRows - 1
+    private long mNumRows = 0;
+
+    /**
+     * @param width the number of columns
+     * @param windowRows the number of rows kept, at least 2
+     */
+    public SlidingWindowMaze(int width, int windowRows) {
+        this(width, windowRows, new SplittableRandom());
+    }
+
+    /**
+     * @param width the number of columns
+     * @param windowRows the number of rows kept, at least 2
+     * @param randGen source of the random choices
+     */
+    public SlidingWindowMaze(int width, int windowRows, SplittableRandom randGen) {
+        if (width < 1 || windowRows < 2) {
+            throw new IllegalArgumentException("The window needs at least one column and two rows.");
+        }
+        mWidth = width;
+        mWindowRows = windowRows;
+        mEngine = new EllerRowGenerator(width, randGen);
+        mEast = new boolean[windowRows][width];
+        mNext = new boolean[windowRows][width];
+        mPrev = new boolean[windowRows][width];
+    }
+
+    /**
+     * Add a row below the newest one, forgetting the oldest row if the window is full. The passages from the
+     * previous newest row into the new row are drawn first, including those asked for with forceNext().
+     *
+     * @return the number of the new row
+     */
+    public long addRow() {
+        int slot = slot(mNumRows);
+        if (mNumRows > 0) {
+            boolean next[] = mNext[slot(mNumRows - 1)];
+            mEngine.chooseNext(next);
+            System.arraycopy(next, 0, mPrev[slot], 0, mWidth);
+        }
+        mEngine.joinRow(false, mEast[slot]);
+        // not drawn yet, the row below does not exist
+        Arrays.fill(mNext[slot], false);
+        return mNumRows++;
+    }
+
+    /**
+     * Make a cell of the newest row get a passage to the next row when it is added.
+     *
+     * @param c the column of the cell
+     */
+    public void forceNext(int c) {
+        if (mNumRows == 0) {
+            throw new IllegalStateException("No row added yet.");
+        }
+        mEngine.forceNext(c);
+    }
+
+    /**
+     * Check a wall of a resident cell. Walls on the border of the maze, and the walls of the newest row towards
+     * the row not added yet, are present.
+     *
+     * @param r the row of the cell, between firstRow() and lastRow()
+     * @param c the column of the cell
+     * @param d the direction, EAST, NORTH (towards the next row), WEST or SOUTH (towards the previous row)
+     * @return true if the wall is present
+     */
+    public boolean isWallPresent(long r, int c, int d) {
+        if (r < firstRow() || r > lastRow()) {
+            throw new IndexOutOfBoundsException("Row " + r + " is not in the window.");
+        }
+        switch (d) {
+            case Maze.EAST:
+                return !mEast[slot(r)][c];
+            case Maze.WEST:
+                return c == 0 || !mEast[slot(r)][c - 1];
+            case Maze.NORTH:
+                return !mNext[slot(r)][c];
+            case Maze.SOUTH:
+                return !mPrev[slot(r)][c];
+            default:
+                throw new IllegalArgumentException("Not a direction of a normal maze: " + d);
+        }
+    }
+
+    /**
+     * @return the oldest resident row
+     */
+    public long firstRow() {
+        return Math.max(0, mNumRows - mWindowRows);
+    }
+
+    /**
+     * @return the newest row, -1 before the first row is added
+     */
+    public long lastRow() {
+        return mNumRows - 1;
+    }
+
+    public int width() {
+        return mWidth;
+    }
+
+    public int windowRows() {
+        return mWindowRows;
+    }
+
+    private int slot(long r) {
+        return (int) (r % mWindowRows);
+    }
+
+} // end of class SlidingWindowMaze
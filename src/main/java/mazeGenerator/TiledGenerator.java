@@ -0,0 +1,207 @@
+package mazeGenerator;
+
+import maze.Cell;
+import maze.HexMaze;
+import maze.Maze;
+import maze.NormalMaze;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Supplier;
+
+/**
+ * Generate a large maze as independent rectangular tiles on a ForkJoinPool, then stitch the tiles together.
+ *
+ * Any generator can be used for the tiles. Every tile is a perfect maze of its own, so the whole maze is a forest of
+ * tile trees; stitching breaks exactly one wall between each pair of tile groups joined, chosen at random through a
+ * disjoint-set forest over the tiles, which turns the forest into a single tree. The loops closed by tunnels are
+ * then broken in one linear pass over the maze (see TunnelLoops).
+ */
+public class TiledGenerator implements MazeGenerator {
+
+    private final Supplier<MazeGenerator> mTileGenerator;
+    private final int mTileRows;
+    private final int mTileCols;
+    private final ForkJoinPool mPool;
+    private SplittableRandom mRandGen = new SplittableRandom();
+
+    private Maze mMaze;
+    private MazeEdges mEdges;
+    private int mRowsOfTile;
+    private int mTilesAcross;
+
+    /**
+     * @param tileGenerator creates a new generator for each tile, e.g. KruskalGenerator::new
+     * @param tileRows the number of rows of a tile, rounded up to an even number for hex mazes
+     * @param tileCols the number of columns of a tile
+     */
+    public TiledGenerator(Supplier<MazeGenerator> tileGenerator, int tileRows, int tileCols) {
+        this(tileGenerator, tileRows, tileCols, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * @param tileGenerator creates a new generator for each tile, e.g. KruskalGenerator::new
+     * @param tileRows the number of rows of a tile, rounded up to an even number for hex mazes
+     * @param tileCols the number of columns of a tile
+     * @param pool the pool generating the tiles
+     */
+    public TiledGenerator(Supplier<MazeGenerator> tileGenerator, int tileRows, int tileCols, ForkJoinPool pool) {
+        if (tileRows < 1 || tileCols < 1) {
+            throw new IllegalArgumentException("Tiles must have at least one row and one column.");
+        }
+        mTileGenerator = tileGenerator;
+        mTileRows = tileRows;
+        mTileCols = tileCols;
+        mPool = pool;
+    }
+
+    /**
+     * Generate a perfect maze inside the input maze object, using the following algorithm:
+     *
+     * ALGORITHM TILED(M)
+     * Input: Maze M, all walls built up, start and exit points marked.
+     * Output: Maze M, appropriate walls knocked down to form a perfect maze from start to exit.
+     *
+     * 1: Cut the maze into rectangular tiles. In parallel, generate a perfect maze of the size of each tile
+     *    with the tile generator, copy its walls into M and list the walls between this tile and the next ones.
+     * 2: Put every tile in a set of its own. Shuffle the walls between tiles. For each of them, if the tiles
+     *    on both sides are in different sets, break the wall and merge the sets. Stop when only one set is left.
+     * 3: Tunnels close loops in the maze, which is a tree already. Put the two ends of every tunnel in the same
+     *    set, then go through the open walls in random order, merging the sets on both sides, and rebuild the walls
+     *    between cells of the same set: one per tunnel.
+     *
+     * @param maze The reference of Maze object to generate.
+     */
+    @Override
+    public void generateMaze(Maze maze) {
+        mMaze = maze;
+        mEdges = new MazeEdges(maze);
+        // Hex rows are shifted by (r + 1) / 2, tiles starting on even rows keep the same neighbours
+        mRowsOfTile = maze.type == Maze.HEX ? mTileRows + mTileRows % 2 : mTileRows;
+        mTilesAcross = (maze.sizeC + mTileCols - 1) / mTileCols;
+        int tilesDown = (maze.sizeR + mRowsOfTile - 1) / mRowsOfTile;
+        int numTiles = tilesDown * mTilesAcross;
+
+        // (Step 1) Generate the tiles in parallel
+        List<TileTask> tasks = new ArrayList<>(numTiles);
+        for (int t = 0; t < numTiles; t++) {
+            // seeds drawn in tile order, so a seeded run gives the same tiles whatever thread generates them
+            tasks.add(new TileTask(t, mRandGen.nextLong()));
+        }
+        mPool.invoke(ForkJoinTask.adapt(() -> ForkJoinTask.invokeAll(tasks)));
+
+        // (Step 2) Stitch the tiles with randomly chosen walls
+        DisjointSet tileSets = new DisjointSet(numTiles);
+        int numBoundary = 0;
+        for (TileTask task : tasks) {
+            numBoundary += task.mNumBoundary;
+        }
+        int boundary[] = new int[numBoundary];
+        int next = 0;
+        for (TileTask task : tasks) {
+            System.arraycopy(task.mBoundary, 0, boundary, next, task.mNumBoundary);
+            next += task.mNumBoundary;
+        }
+        for (int i = 0; i < boundary.length && tileSets.numSets() > 1; i++) {
+            int j = i + mRandGen.nextInt(boundary.length - i);
+            int edge = boundary[j];
+            boundary[j] = boundary[i];
+            if (tileSets.union(tileOf(MazeEdges.from(edge)), tileOf(mEdges.to(edge)))) {
+                mEdges.carve(edge);
+            }
+        }
+
+        // (Step 3) Break the loops closed by tunnels
+        if (maze.type == Maze.TUNNEL) {
+            TunnelLoops.breakLoops(maze, mRandGen);
+        }
+        mMaze = null;
+        mEdges = null;
+    } // end of generateMaze()
+
+    @Override
+    public void setSeed(long seed) {
+        mRandGen = new SplittableRandom(seed);
+    }
+
+    /**
+     * Tile containing a cell.
+     *
+     * @param index the index of the cell
+     * @return the number of the tile
+     */
+    private int tileOf(int index) {
+        int r = index / mMaze.sizeC;
+        int c = index % mMaze.sizeC;
+        return (r / mRowsOfTile) * mTilesAcross + c / mTileCols;
+    }
+
+    /**
+     * Generates one tile, copies its walls into the maze and lists the walls between this tile and its neighbours
+     * that belong to this tile's cells.
+     */
+    private class TileTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final int mTile;
+        private final long mSeed;
+        private int mBoundary[] = new int[16];
+        private int mNumBoundary = 0;
+
+        TileTask(int tile, long seed) {
+            mTile = tile;
+            mSeed = seed;
+        }
+
+        @Override
+        protected void compute() {
+            int firstRow = (mTile / mTilesAcross) * mRowsOfTile;
+            int firstCol = (mTile % mTilesAcross) * mTileCols;
+            int rows = Math.min(mRowsOfTile, mMaze.sizeR - firstRow);
+            int cols = Math.min(mTileCols, mMaze.sizeC - firstCol);
+
+            // Generate the tile as a maze of its own, tunnels are dealt with when stitching
+            Maze tile = mMaze.type == Maze.HEX ? new HexMaze() : new NormalMaze();
+            tile.isVisu = false;
+            tile.initMaze(rows, cols, 0, 0, 0, 0, Collections.emptyList());
+            MazeGenerator generator = mTileGenerator.get();
+            generator.setSeed(mSeed);
+            generator.generateMaze(tile);
+
+            for (int r = 0; r < rows; r++) {
+                for (int c = 0; c < cols; c++) {
+                    Cell tileCell = tile.cellAt(r * cols + c);
+                    int index = (firstRow + r) * mMaze.sizeC + firstCol + c;
+                    Cell cell = mMaze.cellAt(index);
+                    boolean isBorder = r == 0 || r == rows - 1 || c == 0 || c == cols - 1;
+
+                    // Each wall is copied once, by the cell owning it (see MazeEdges)
+                    for (int d = 0; d < MazeEdges.DIRS_PER_CELL; d++) {
+                        if (tileCell.neigh[d] != null) {
+                            cell.wall[d].present = tileCell.wall[d].present;
+                        } else if (isBorder) {
+                            int edge = index * MazeEdges.DIRS_PER_CELL + d;
+                            if (mEdges.isEdge(edge)) {
+                                addBoundary(edge);
+                            }
+                        }
+                    }
+                }
+            }
+        }
+
+        private void addBoundary(int edge) {
+            if (mNumBoundary == mBoundary.length) {
+                mBoundary = Arrays.copyOf(mBoundary, mNumBoundary * 2);
+            }
+            mBoundary[mNumBoundary++] = edge;
+        }
+    }
+
+} // end of class TiledGenerator
@@ -0,0 +1,50 @@
+package mazeGenerator;
+
+import maze.Cell;
+import maze.Maze;
+
+import java.util.SplittableRandom;
+
+/**
+ * Turns a tunnel maze whose open walls form a spanning tree into a perfect maze, for generators that carve the tree
+ * without looking at the tunnels.
+ *
+ * Every tunnel closes exactly one loop in such a maze. Instead of searching each loop, the two ends of every tunnel
+ * are put in the same set of a disjoint-set forest, then the open walls are merged in random order and those joining
+ * cells of the same set are rebuilt: one per tunnel, in linear time.
+ */
+final class TunnelLoops {
+
+    private TunnelLoops() {
+    }
+
+    /**
+     * Rebuild one random wall on each loop closed by a tunnel.
+     *
+     * @param maze the maze, its open walls forming a spanning tree
+     * @param randGen source of the order the walls are merged in
+     */
+    static void breakLoops(Maze maze, SplittableRandom randGen) {
+        DisjointSet sets = new DisjointSet(maze.numCells());
+        for (int i = 0; i < maze.numCells(); i++) {
+            Cell end = maze.cellAt(i).tunnelTo;
+            if (end != null) {
+                sets.union(i, maze.cellIndex(end.r, end.c));
+            }
+        }
+
+        MazeEdges mazeEdges = new MazeEdges(maze);
+        int edges[] = mazeEdges.allEdges();
+        for (int i = edges.length - 1; i >= 0; i--) {
+            int j = randGen.nextInt(i + 1);
+            int edge = edges[j];
+            edges[j] = edges[i];
+            Cell cell = maze.cellAt(MazeEdges.from(edge));
+            int d = edge % MazeEdges.DIRS_PER_CELL;
+            if (!cell.wall[d].present && !sets.union(MazeEdges.from(edge), mazeEdges.to(edge))) {
+                cell.wall[d].present = true;
+            }
+        }
+    }
+
+} // end of class TunnelLoops
@@ -0,0 +1,127 @@
+package mazeGenerator;
+
+import maze.Maze;
+import maze.Topology;
+
+import java.util.SplittableRandom;
+
+/**
+ * Generate maze with randomized prim's algorithm on random wall weights.
+ *
+ * Unlike the modified prim's algorithm, which grows the maze from a random frontier cell, this always grows it through
+ * the cheapest wall between the maze and the frontier, which gives mazes with more short dead ends.
+ */
+public class WeightedPrimsGenerator implements MazeGenerator {
+
+    private SplittableRandom mRandGen = new SplittableRandom();
+    private Topology mTopology;
+
+    // true for the cells in the set Z
+    private boolean mInZ[];
+    // frontier cells keyed by the weight of their cheapest wall to Z
+    private IndexedIntHeap mFrontier;
+    // cell in Z and direction of that cheapest wall
+    private int mBestFrom[];
+    private byte mBestDir[];
+    private int mZSize;
+
+    /**
+     * Generate a perfect maze inside the input maze object, using the following algorithm:
+     *
+     * ALGORITHM WEIGHTED PRIM(M)
+     * Input: Maze M, all walls built up, start and exit points marked.
+     * Output: Maze M, appropriate walls knocked down to form a perfect maze from start to exit.
+     *
+     * 1: Pick a random starting cell and add it to set Z.
+     * 2: Give a random weight to every wall between the new cell of Z and a cell outside Z, and keep for each
+     *    frontier cell the cheapest wall between it and Z.
+     * 3: Take the frontier cell c with the cheapest wall, knock that wall down and add c to Z.
+     *    If c is one end of a tunnel, add the other end to Z too, the tunnel connects it.
+     * 4: Repeat from step 2 until Z includes every cell in the maze.
+     *
+     * Each wall is weighed once, when its first cell joins Z, so the weights are drawn as they are needed and
+     * never stored.
+     *
+     * @param maze The reference of Maze object to generate.
+     */
+    @Override
+    public void generateMaze(Maze maze) {
+        mTopology = Topology.of(maze);
+        int numCells = mTopology.numCells();
+        mInZ = new boolean[numCells];
+        mFrontier = new IndexedIntHeap(numCells);
+        mBestFrom = new int[numCells];
+        mBestDir = new byte[numCells];
+        mZSize = 0;
+
+        // (Step 1) Pick a random starting cell
+        addToZ(mRandGen.nextInt(numCells));
+
+        // (Step 4) Keep looping until all cells are in z
+        while (mZSize < numCells) {
+
+            // (Step 3) Expand through the cheapest wall
+            int c = mFrontier.removeMin();
+            if (mInZ[c]) {
+                // joined through a tunnel after it entered the frontier
+                continue;
+            }
+            mTopology.openWall(mBestFrom[c], mBestDir[c]);
+            addToZ(c);
+        }
+        mTopology = null;
+        mInZ = null;
+        mFrontier = null;
+        mBestFrom = null;
+        mBestDir = null;
+    } // end of generateMaze()
+
+    @Override
+    public void setSeed(long seed) {
+        mRandGen = new SplittableRandom(seed);
+    }
+
+    /**
+     * Add a cell, and the other end of its tunnel, to the set Z and weigh their walls to the cells outside Z
+     *
+     * @param index the index of the cell
+     */
+    private void addToZ(int index) {
+        mInZ[index] = true;
+        mZSize++;
+        addToFrontier(index);
+
+        // (Step 3) The other end of a tunnel joins with no wall knocked down
+        int endIndex = mTopology.tunnelPartner(index);
+        if (endIndex >= 0 && !mInZ[endIndex]) {
+            mInZ[endIndex] = true;
+            mZSize++;
+            addToFrontier(endIndex);
+        }
+    }
+
+    /**
+     * (Step 2) Weigh the walls between a new cell of Z and its neighbours outside Z
+     *
+     * @param index the index of the cell
+     */
+    private void addToFrontier(int index) {
+        for (int d : mTopology.directions()) {
+            int neighborIndex = mTopology.neighbour(index, d);
+            if (neighborIndex < 0 || mInZ[neighborIndex]) {
+                continue;
+            }
+            int weight = mRandGen.nextInt();
+            if (!mFrontier.contains(neighborIndex)) {
+                mFrontier.insert(neighborIndex, weight);
+            } else if (weight < mFrontier.key(neighborIndex)) {
+                mFrontier.decreaseKey(neighborIndex, weight);
+            } else {
+                continue;
+            }
+            mBestFrom[neighborIndex] = index;
+            mBestDir[neighborIndex] = (byte) d;
+        }
+    }
+
+} // end of class WeightedPrimsGenerator
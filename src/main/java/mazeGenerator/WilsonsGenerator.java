@@ -0,0 +1,144 @@
+package mazeGenerator;
+
+import maze.Maze;
+import maze.Topology;
+
+import java.util.SplittableRandom;
+
+/**
+ * Generate maze with Wilson's algorithm, which picks every perfect maze with the same probability
+ * (a uniform spanning tree), unlike the other generators.
+ *
+ * The two ends of a tunnel are always connected, so they are treated as a single node of the graph the walks run on.
+ * A node is named by the smaller index of its cells. The walks are recorded as one direction per node in a byte array,
+ * later steps through a node overwriting earlier ones, which erases the loops without keeping the path.
+ */
+public class WilsonsGenerator implements MazeGenerator {
+
+    // direction of a node in the maze already
+    private static final byte IN_MAZE = -1;
+    // added to a direction when the walk leaves a node through the other end of its tunnel
+    private static final int FROM_PARTNER = 8;
+    private static final int MAX_WALLS = 2 * Maze.NUM_DIR;
+
+    private SplittableRandom mRandGen = new SplittableRandom();
+    private Topology mTopology;
+    // direction the last walk left each node by, or IN_MAZE
+    private byte mDir[];
+    // scratch space for the walls around a node, as cell index and direction
+    private final int mWallCells[] = new int[MAX_WALLS];
+    private final int mWallDirs[] = new int[MAX_WALLS];
+    private long mWalkSteps = 0;
+
+    /**
+     * Generate a perfect maze inside the input maze object, using the following algorithm:
+     *
+     * ALGORITHM WILSON(M)
+     * Input: Maze M, all walls built up, start and exit points marked.
+     * Output: Maze M, appropriate walls knocked down to form a perfect maze from start to exit.
+     *
+     * 1: Add a random node to the maze.
+     * 2: Take a node not in the maze yet and walk at random until a node in the maze is reached,
+     *    remembering for each node the direction it was last left by.
+     * 3: Walk again from the same node, following the remembered directions: this is the random walk with its
+     *    loops erased. Knock down the walls crossed and add the nodes on the way to the maze.
+     * 4: Repeat from step 2 until every node is in the maze.
+     *
+     * @param maze The reference of Maze object to generate.
+     */
+    @Override
+    public void generateMaze(Maze maze) {
+        mTopology = Topology.of(maze);
+        int numCells = mTopology.numCells();
+        mDir = new byte[numCells];
+        mWalkSteps = 0;
+
+        // (Step 1) Random root
+        mDir[node(mRandGen.nextInt(numCells))] = IN_MAZE;
+
+        // (Step 4) Walk from every node not in the maze yet
+        for (int start = 0; start < numCells; start++) {
+            if (start != node(start) || mDir[start] == IN_MAZE) {
+                continue;
+            }
+
+            // (Step 2) Random walk until the maze is reached
+            int current = start;
+            while (mDir[current] != IN_MAZE) {
+                current = step(current);
+                mWalkSteps++;
+            }
+
+            // (Step 3) Follow the loop-erased walk and carve it into the maze
+            current = start;
+            while (mDir[current] != IN_MAZE) {
+                int d = mDir[current];
+                int cell = d >= FROM_PARTNER ? mTopology.tunnelPartner(current) : current;
+                d &= FROM_PARTNER - 1;
+                mTopology.openWall(cell, d);
+                mDir[current] = IN_MAZE;
+                current = node(mTopology.neighbour(cell, d));
+            }
+        }
+        mTopology = null;
+        mDir = null;
+    } // end of generateMaze()
+
+    @Override
+    public void setSeed(long seed) {
+        mRandGen = new SplittableRandom(seed);
+    }
+
+    /**
+     * @return the number of random walk steps taken by the last call to generateMaze()
+     */
+    public long walkSteps() {
+        return mWalkSteps;
+    }
+
+    /**
+     * @param index the index of a cell
+     * @return the node of the cell, the smaller index of the cell and the other end of its tunnel
+     */
+    private int node(int index) {
+        int partner = mTopology.tunnelPartner(index);
+        return partner >= 0 && partner < index ? partner : index;
+    }
+
+    /**
+     * Take one random walk step from a node through one of the walls around it, chosen uniformly.
+     *
+     * @param current the node
+     * @return the node stepped to
+     */
+    private int step(int current) {
+        int numWalls = listWalls(current, 0);
+        int partner = mTopology.tunnelPartner(current);
+        if (partner >= 0) {
+            numWalls = listWalls(partner, numWalls);
+        }
+        int k = mRandGen.nextInt(numWalls);
+        int cell = mWallCells[k];
+        int d = mWallDirs[k];
+        mDir[current] = (byte) (cell == current ? d : d + FROM_PARTNER);
+        return node(mTopology.neighbour(cell, d));
+    }
+
+    /**
+     * List the walls between a cell and its neighbours in the scratch arrays.
+     *
+     * @param cell the index of the cell
+     * @param numWalls the number of walls listed already
+     * @return the number of walls listed now
+     */
+    private int listWalls(int cell, int numWalls) {
+        for (int d : mTopology.directions()) {
+            if (mTopology.neighbour(cell, d) >= 0) {
+                mWallCells[numWalls] = cell;
+                mWallDirs[numWalls++] = d;
+            }
+        }
+        return numWalls;
+    }
+
+} // end of class WilsonsGenerator
@@ -0,0 +1,224 @@
+package mazeSolver;
+
+import maze.Maze;
+import mazeAnalysis.MazeGraph;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.stream.IntStream;
+
+/**
+ * Answers many (entrance, exit) queries on the same maze in one go.
+ *
+ * Queries are grouped by a shared source cell so that a single BFS tree answers every query of a group,
+ * the BFS scratch arrays are pooled for the batch and reused between groups (cleared by bumping a stamp
+ * instead of refilling them), and independent groups are solved in parallel. The pool goes with the batch,
+ * so no array outlives solve().
+ */
+public class BatchSolver {
+
+    /**
+     * Number of cells visited in a query whose exit cannot be reached.
+     */
+    public static final int UNREACHABLE = -1;
+
+    private MazeGraph mGraph;
+    private int mNumQueries = 0;
+    private int mNumGroups = 0;
+    private long mElapsedNanos = 0;
+
+    /**
+     * Solve every query in the list on the given maze.
+     *
+     * The queries are in the same form as the tunnel list given to Maze.initMaze(), i.e. {entR, entC, exitR, exitC},
+     * using the same coordinates as the entrance and exit of an input parameter file.
+     *
+     * @param maze the maze to solve, walls already carved
+     * @param pairs the list of queries
+     * @return for each query, the number of cells on the path from its entrance to its exit (both included),
+     *         or UNREACHABLE if there is no such path
+     */
+    public int[] solve(Maze maze, List<int[]> pairs) {
+        long startTime = System.nanoTime();
+        int numCells = maze.numCells();
+        mNumQueries = pairs.size();
+        mGraph = MazeGraph.of(maze);
+
+        // Convert the queries to cell indices
+        int sources[] = new int[mNumQueries];
+        int targets[] = new int[mNumQueries];
+        int timesUsed[] = new int[numCells];
+        for (int q = 0; q < mNumQueries; q++) {
+            int pair[] = pairs.get(q);
+            sources[q] = toIndex(maze, pair[0], pair[1]);
+            targets[q] = toIndex(maze, pair[2], pair[3]);
+            timesUsed[sources[q]]++;
+            timesUsed[targets[q]]++;
+        }
+
+        // Paths are symmetric, so search from whichever end is shared by more queries
+        long order[] = new long[mNumQueries];
+        for (int q = 0; q < mNumQueries; q++) {
+            if (timesUsed[targets[q]] > timesUsed[sources[q]]) {
+                int temp = sources[q];
+                sources[q] = targets[q];
+                targets[q] = temp;
+            }
+            order[q] = ((long) sources[q] << 32) | q;
+        }
+        Arrays.sort(order);
+
+        // Each run of queries with the same source is one group
+        int groupStart[] = new int[mNumQueries + 1];
+        mNumGroups = 0;
+        for (int i = 0; i < mNumQueries; i++) {
+            if (i == 0 || (order[i] >>> 32) != (order[i - 1] >>> 32)) {
+                groupStart[mNumGroups++] = i;
+            }
+        }
+        groupStart[mNumGroups] = mNumQueries;
+
+        // A group borrows scratch arrays from the pool, so there are never more of them than groups solved at once
+        ConcurrentLinkedQueue<Scratch> scratchPool = new ConcurrentLinkedQueue<>();
+        int results[] = new int[mNumQueries];
+        IntStream.range(0, mNumGroups).parallel().forEach(g -> {
+            Scratch scratch = scratchPool.poll();
+            if (scratch == null) {
+                scratch = new Scratch(numCells);
+            }
+            solveGroup(scratch, order, groupStart[g], groupStart[g + 1], targets, results);
+            scratchPool.offer(scratch);
+        });
+
+        mGraph = null;
+        mElapsedNanos = System.nanoTime() - startTime;
+        return results;
+    } // end of solve()
+
+    /**
+     * Use after solve(), the number of queries answered.
+     *
+     * @return the number of queries
+     */
+    public int queriesSolved() {
+        return mNumQueries;
+    }
+
+    /**
+     * Use after solve(), the number of BFS searches that answered the queries.
+     *
+     * @return the number of distinct sources
+     */
+    public int searchesRun() {
+        return mNumGroups;
+    }
+
+    /**
+     * Use after solve(), the throughput of the last batch.
+     *
+     * @return queries answered per second
+     */
+    public double queriesPerSecond() {
+        return mElapsedNanos == 0 ? 0 : mNumQueries * 1e9 / mElapsedNanos;
+    }
+
+    /**
+     * Run one BFS from the shared source of a group until every target of the group has been reached.
+     *
+     * @param scratch the BFS arrays, not used by any other group meanwhile
+     * @param order the queries sorted by source, each packed as source << 32 | query
+     * @param from the first position of the group in order
+     * @param to one past the last position of the group in order
+     * @param targets the target cell of each query
+     * @param results the array the answers are written to
+     */
+    private void solveGroup(Scratch scratch, long order[], int from, int to, int targets[], int results[]) {
+        int stamp = scratch.nextStamp();
+        int seen[] = scratch.seen;
+        int wanted[] = scratch.wanted;
+        int dist[] = scratch.dist;
+        int queue[] = scratch.queue;
+
+        // Mark the targets still to be reached
+        int remaining = 0;
+        for (int i = from; i < to; i++) {
+            int target = targets[(int) order[i]];
+            if (wanted[target] != stamp) {
+                wanted[target] = stamp;
+                remaining++;
+            }
+        }
+
+        int source = (int) (order[from] >>> 32);
+        int head = 0;
+        int tail = 0;
+        queue[tail++] = source;
+        seen[source] = stamp;
+        dist[source] = 1;
+        while (head < tail && remaining > 0) {
+            int current = queue[head++];
+            if (wanted[current] == stamp) {
+                remaining--;
+            }
+            for (int k = mGraph.offsets[current]; k < mGraph.offsets[current + 1]; k++) {
+                int next = mGraph.targets[k];
+                if (seen[next] != stamp) {
+                    seen[next] = stamp;
+                    dist[next] = dist[current] + 1;
+                    queue[tail++] = next;
+                }
+            }
+        }
+
+        for (int i = from; i < to; i++) {
+            int q = (int) order[i];
+            results[q] = seen[targets[q]] == stamp ? dist[targets[q]] : UNREACHABLE;
+        }
+    }
+
+    /**
+     * Convert coordinates of an input parameter file to a cell index.
+     *
+     * @param maze the maze
+     * @param row the row of the cell
+     * @param column the column of the cell, as given for an entrance or exit
+     * @return the index of the cell
+     */
+    private int toIndex(Maze maze, int row, int column) {
+        if (row < 0 || row >= maze.sizeR || column < 0 || column >= maze.sizeC) {
+            throw new IllegalArgumentException("Cell (" + row + ", " + column + ") is not in the maze.");
+        }
+        // For every type of maze this matches cellIndex() once hex columns are shifted into map[][]
+        return row * maze.sizeC + column;
+    }
+
+    /**
+     * BFS arrays used by one group at a time. An entry is only valid when it carries the current stamp,
+     * so the arrays never need to be cleared between searches.
+     */
+    private static class Scratch {
+        final int seen[];
+        final int wanted[];
+        final int dist[];
+        final int queue[];
+        int stamp = 0;
+
+        Scratch(int numCells) {
+            seen = new int[numCells];
+            wanted = new int[numCells];
+            dist = new int[numCells];
+            queue = new int[numCells];
+        }
+
+        int nextStamp() {
+            if (++stamp == 0) {
+                Arrays.fill(seen, 0);
+                Arrays.fill(wanted, 0);
+                stamp = 1;
+            }
+            return stamp;
+        }
+    }
+
+} // end of class BatchSolver
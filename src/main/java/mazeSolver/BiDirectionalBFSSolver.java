@@ -1,12 +1,7 @@
 package mazeSolver;
 
-import maze.Cell;
 import maze.Maze;
-
-import java.util.HashSet;
-import java.util.LinkedList;
-
-import static maze.Maze.HEX;
+import maze.Topology;
 
 /**
  * Implements Bi-directional BFS maze solving algorithm.
@@ -16,42 +11,23 @@ import static maze.Maze.HEX;
  */
 public class BiDirectionalBFSSolver implements MazeSolver 
 {
+	// side of the search that reached a cell
+	private static final byte ENTRY = 1;
+	private static final byte EXIT = 2;
+
 	private boolean meet = false;
 	private Maze mMaze;
-	private HashSet<Cell> entryVisitedCells;
-	private HashSet<Cell> exitVisitedCells;
+	private Topology mTopology;
+	// side that queued each cell, 0 if none has yet
+	private byte mSide[];
+	// whether each cell has been taken out of its queue
+	private boolean mVisited[];
+	// queue of each side, indexed by ENTRY and EXIT, cells between mHead and mTail are waiting
+	private final int mQueue[][] = new int[3][];
+	private final int mHead[] = new int[3];
+	private final int mTail[] = new int[3];
 	private int cellVisited = 0;
 	
-	/**
-     * Check if a cell is in the maze
-     *
-     * @param row the row of the cell to check
-     * @param column the column of the cell to check
-     * @return weather the cell is in the maze
-     */
-	private boolean isIn(int row, int column) 
-	{
-		if (mMaze.type == HEX) 
-		{
-			return row >= 0 && row < mMaze.sizeR && column >= (row + 1) / 2 && column < mMaze.sizeC + (row + 1) / 2;
-		} 
-		else 
-		{
-			return row >= 0 && row < mMaze.sizeR && column >= 0 && column < mMaze.sizeC;
-	    }
-	}
-	
-	/**
-     * Check whether the cell is in the maze.
-     *
-     * @param cell The cell being checked.
-     * @return True if in the maze. Otherwise false.
-     */
-	private boolean isIn(Cell cell) 
-	{
-        return cell != null && isIn(cell.r, cell.c);
-	}
-	
 	/**
 	 * ALGORITHM BIDIRECTIONALBFS(M)
 	 * 
@@ -76,195 +52,142 @@ public class BiDirectionalBFSSolver implements MazeSolver
      * 		4.3 If 4.1 turn out as false, add the neighbor to the entry queue
      * 5. Repeat step 3 and 4 until both ends meet and the loop is exited
      * 6. A path from entrance to exit has been found
+     * 
+     * Cells are walked by index through the Topology of the maze, and the side that queued each cell is
+     * kept in an array, so checking whether the two searches have met takes constant time.
      * 
 	 */
 	@Override
 	public void solveMaze(Maze maze) 
 	{
 		this.mMaze = maze;
-		//Queue for entry side BFS
-		LinkedList<Cell> entryQueue = new LinkedList<Cell>();
-		//Queue for exit side BFS
-		LinkedList<Cell> exitQueue = new LinkedList<Cell>();
-		//List of cells visited by BFS from entry side
-		entryVisitedCells = new HashSet<Cell>();
-		//List of cells visited by BFS from exit side
-		exitVisitedCells = new HashSet<Cell>();
+		mTopology = Topology.of(maze);
+		int numCells = mTopology.numCells();
+		mSide = new byte[numCells];
+		mVisited = new boolean[numCells];
+		cellVisited = 0;
 		
-		//Add the entrance cell to the entry queue
-		entryQueue.add(maze.entrance);
-		//Add the exit cell to the exit queue
-		exitQueue.add(maze.exit);
+		//Queue for entry side BFS and queue for exit side BFS, a cell is queued at most once
+		for (int side = ENTRY; side <= EXIT; side++) 
+		{
+			mQueue[side] = new int[numCells];
+			mHead[side] = 0;
+			mTail[side] = 0;
+		}
 		
 		//Boolean variable to check if both ends of BFS have met
 		meet = false;
 		
-		//Current cell being inspected in the entry queue
-		Cell entryCurrent;
-		//Current cell being inspected in the exit queue
-		Cell exitCurrent;
+		int entrance = mTopology.index(maze.entrance);
+		int exit = mTopology.index(maze.exit);
 		
 		/*
 		 * If the entrance and exit are the same cell then the maze is already solved.
 		 * Mark the entrance and exit
 		 */
-		if(maze.entrance.equals(maze.exit))
+		if(entrance == exit)
 		{
 			meet = true;
 			maze.drawFtPrt(maze.entrance);
-			entryVisitedCells.add(maze.entrance);
+			cellVisited = 1;
+		}
+		else
+		{
+			//Add the entrance cell to the entry queue and the exit cell to the exit queue
+			enqueue(ENTRY, entrance);
+			enqueue(EXIT, exit);
 		}
 		
-		while(!meet)
+		//Take turns until both ends meet, a side running out of cells means there is no path
+		while(!meet && mHead[ENTRY] < mTail[ENTRY] && mHead[EXIT] < mTail[EXIT])
 		{
 			//ENTRY BFS
-			//Get the first cell from entry queue
-			entryCurrent = entryQueue.removeFirst();
-			//Draw it as visited
-			maze.drawFtPrt(entryCurrent);
-			//Add it to the entry visited cells
-			entryVisitedCells.add(entryCurrent);
-			//Check if the cell has a tunnel
-			if(entryCurrent.tunnelTo != null)
-			{
-				/*
-				 * Check if the tunnel end is visited by the exit side BFS
-				 * If it has, then both ends have met, draw the other end of tunnel
-				 * Otherwise add the other end of the tunnel to the queue
-				 */
-				Cell tunnelNeighbor = entryCurrent.tunnelTo;
-				
-				if((exitQueue.contains(tunnelNeighbor)) || exitVisitedCells.contains(tunnelNeighbor))
-                {
-					if(!exitVisitedCells.contains(tunnelNeighbor))
-					{
-						maze.drawFtPrt(tunnelNeighbor);
-						entryVisitedCells.add(tunnelNeighbor);
-					}
-						
-                	meet = true;
-                	break;
-                }
-				else if ((isIn(tunnelNeighbor)) && (!entryQueue.contains(tunnelNeighbor)) 
-                		&& (!entryVisitedCells.contains(tunnelNeighbor))) 
-                {
-                    entryQueue.add(tunnelNeighbor);
-                }
-			}
-			
-			//Add all the accessible neighbor cells to the queue
-			for (int i = 0; i < Maze.NUM_DIR; i++) 
-			{
-                Cell currentNeighbor = entryCurrent.neigh[i];
-                /*
-                 * If exit queue contains the neighbor cell then both ends have met
-                 * Draw the cell and exit	
-                */
-                if((exitQueue.contains(currentNeighbor)) && (!entryCurrent.wall[i].present))
-                {
-                	if(!exitVisitedCells.contains(currentNeighbor))
-                	{
-                		entryVisitedCells.add(currentNeighbor);
-                    	maze.drawFtPrt(currentNeighbor);
-                	}	
-                	meet = true;
-                	break;
-                }
-                /*
-                 * If the neighbor cell is in the visited cells from exit side,
-                 * Then both ends have met, exit
-                 */
-                else if((exitVisitedCells.contains(currentNeighbor)) && (!entryCurrent.wall[i].present))
-                {
-                	meet = true;
-                	break;
-                }
-                /*
-                 * Otherwise add the neighbor cell to the entry queue
-                 */
-                else if ((isIn(currentNeighbor)) && (!entryQueue.contains(currentNeighbor)) 
-                		&& (!entryCurrent.wall[i].present) && (!entryVisitedCells.contains(currentNeighbor))) 
-                {
-                    entryQueue.add(currentNeighbor);
-                }
-            }
+			step(ENTRY, EXIT);
 			//Exit loop if a path has been found
 			if(meet == true)
 				break;
 			
 			//EXIT BFS
-			//Get the first cell from exit queue
-			exitCurrent = exitQueue.removeFirst();
-			//Draw it as visited
-			maze.drawFtPrt(exitCurrent);
-			//Add it to the exit visited cells
-			exitVisitedCells.add(exitCurrent);
-			//Check if the cell has a tunnel
-			if(exitCurrent.tunnelTo != null)
+			step(EXIT, ENTRY);
+		}
+		
+		mTopology = null;
+		mSide = null;
+		mVisited = null;
+		mQueue[ENTRY] = null;
+		mQueue[EXIT] = null;
+	} // end of solveMaze()
+	
+	/**
+	 * Take the first cell of the queue of one side, and add its accessible neighbours to that queue,
+	 * unless one of them was reached by the other side already
+	 *
+	 * @param side the side taking its turn
+	 * @param other the other side
+	 */
+	private void step(byte side, byte other) 
+	{
+		//Get the first cell from the queue
+		int current = mQueue[side][mHead[side]++];
+		//Draw it as visited
+		mMaze.drawFtPrt(mTopology.cell(current));
+		mVisited[current] = true;
+		cellVisited++;
+		
+		//Check if the cell has a tunnel, the other end is a neighbour too
+		int tunnelNeighbor = mTopology.tunnelPartner(current);
+		if(tunnelNeighbor >= 0 && reach(side, other, tunnelNeighbor))
+			return;
+		
+		//Add all the accessible neighbor cells to the queue
+		for (int d : mTopology.directions()) 
+		{
+			int currentNeighbor = mTopology.neighbour(current, d);
+			if((currentNeighbor >= 0) && (mTopology.isOpen(current, d)) && reach(side, other, currentNeighbor))
+				return;
+		}
+	} // end of step()
+	
+	/**
+	 * Reach a neighbour of the current cell of one side
+	 *
+	 * @param side the side taking its turn
+	 * @param other the other side
+	 * @param neighbor the index of the neighbour
+	 * @return true if the neighbour was reached by the other side, both ends have met
+	 */
+	private boolean reach(byte side, byte other, int neighbor) 
+	{
+		/*
+		 * If the other side queued or visited the neighbour then both ends have met.
+		 * Draw the cell if the other side has not yet
+		 */
+		if(mSide[neighbor] == other)
+		{
+			if(!mVisited[neighbor])
 			{
-				/*
-				 * Check if the tunnel end is visited by the entry side BFS
-				 * If it has, then both ends have met, draw the other end of tunnel
-				 * Otherwise add the other end of the tunnel to the queue
-				 */
-				Cell tunnelNeighbor = exitCurrent.tunnelTo;
-				if((entryQueue.contains(tunnelNeighbor)) || entryVisitedCells.contains(tunnelNeighbor))
-                {
-					if(!entryVisitedCells.contains(tunnelNeighbor))
-					{
-						maze.drawFtPrt(tunnelNeighbor);
-						exitVisitedCells.add(tunnelNeighbor);
-					}		
-                	meet = true;
-                	break;
-                }
-				else if ((!exitQueue.contains(tunnelNeighbor)) 
-                		&& (!exitVisitedCells.contains(tunnelNeighbor))) 
-                {
-                    exitQueue.add(tunnelNeighbor);
-                }
+				mMaze.drawFtPrt(mTopology.cell(neighbor));
+				mVisited[neighbor] = true;
+				cellVisited++;
 			}
-			//Add all the accessible neighbor cells to the queue
-			for (int i = 0; i < Maze.NUM_DIR; i++) 
-			{
-				/*
-                 * If entry queue contains the neighbor cell then both ends have met
-                 * Draw the cell and exit	
-                */
-                Cell currentNeighbor = exitCurrent.neigh[i];
-                if((entryQueue.contains(currentNeighbor)) && (!exitCurrent.wall[i].present))
-                {
-                	if(!entryVisitedCells.contains(currentNeighbor))
-                	{
-                		exitVisitedCells.add(currentNeighbor);
-                    	maze.drawFtPrt(currentNeighbor);
-                	}	
-                	meet = true;
-                	break;
-                }
-                /*
-                 * If the neighbor cell is in the visited cells from entry side,
-                 * Then both ends have met, exit
-                 */
-                else if((entryVisitedCells.contains(currentNeighbor)) && (!exitCurrent.wall[i].present))
-                {
-                	meet = true;
-                	break;
-                }
-                /*
-                 * Otherwise add the neighbor cell to the exit queue
-                 */
-                else if ((isIn(currentNeighbor)) && (!exitQueue.contains(currentNeighbor))
-                		&& (!exitCurrent.wall[i].present) && (!exitVisitedCells.contains(currentNeighbor))) 
-                {
-                    exitQueue.add(currentNeighbor);
-                }
-            }
-			//Exit loop if a path has been found
-			if(meet == true)
-				break;
+			meet = true;
+			return true;
 		}
-	} 
+		/*
+		 * Otherwise add the neighbor cell to the queue, if no side has yet
+		 */
+		if(mSide[neighbor] == 0)
+		{
+			enqueue(side, neighbor);
+		}
+		return false;
+	} // end of reach()
+	
+	private void enqueue(byte side, int index) 
+	{
+		mSide[index] = side;
+		mQueue[side][mTail[side]++] = index;
+	} // end of enqueue()
 
 
 	@Override
@@ -277,8 +200,7 @@ public class BiDirectionalBFSSolver implements MazeSolver
 	@Override
 	public int cellsExplored() 
 	{
-		return exitVisitedCells.size() + entryVisitedCells.size();
+		return cellVisited;
 	} 
 
 } // end of class BiDirectionalBFSSolver
-
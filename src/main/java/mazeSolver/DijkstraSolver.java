@@ -0,0 +1,125 @@
+package mazeSolver;
+
+import maze.Cell;
+import maze.Maze;
+
+import java.util.Arrays;
+
+/**
+ * Implements Dijkstra's shortest path algorithm on mazes with weighted cells.
+ *
+ * Stepping into a cell costs maze.cellCost of that cell (1 if the maze has no costs), and going through a tunnel
+ * costs maze.tunnelCost on top. The queue is a RadixHeap over int keys, so no entry is ever boxed.
+ */
+public class DijkstraSolver implements MazeSolver {
+
+    private int mNumCellsVisited = 0;
+    private boolean mExitReached = false;
+    private int mPathCost = -1;
+
+    /**
+     * Find the cheapest path from the entrance to the exit:
+     *
+     * ALGORITHM DIJKSTRA(M)
+     * Input: Maze M, appropriate walls knocked down, optionally a cost for every cell.
+     * Output: Maze M, the cheapest path from start to exit.
+     *
+     * 1: Set the distance of the entrance to 0 and every other cell to infinity, and queue the entrance.
+     * 2: Take the queued cell c with the smallest distance. Skip it if it was already settled.
+     * 3: Settle c. For every neighbour n reachable from c, if distance(c) + cost of stepping into n
+     *    is smaller than distance(n), lower distance(n) and queue n.
+     * 4: Repeat step 2 until the exit is settled or the queue is empty.
+     *
+     * @param maze The maze to solve.
+     */
+    @Override
+    public void solveMaze(Maze maze) {
+        int numCells = maze.numCells();
+        int dist[] = new int[numCells];
+        boolean settled[] = new boolean[numCells];
+        Arrays.fill(dist, Integer.MAX_VALUE);
+        RadixHeap queue = new RadixHeap();
+        int exit = maze.cellIndex(maze.exit.r, maze.exit.c);
+        mNumCellsVisited = 0;
+        mExitReached = false;
+        mPathCost = -1;
+
+        // (Step 1) Start at the entrance
+        int entrance = maze.cellIndex(maze.entrance.r, maze.entrance.c);
+        dist[entrance] = 0;
+        queue.insert(0, entrance);
+
+        while (!queue.isEmpty()) {
+
+            // (Step 2) Take the closest queued cell, ignoring entries made stale by a cheaper path
+            queue.removeMin();
+            int current = queue.lastValue();
+            if (settled[current] || queue.lastKey() > dist[current]) {
+                continue;
+            }
+
+            // (Step 3) Settle it
+            settled[current] = true;
+            mNumCellsVisited++;
+            Cell cell = maze.cellAt(current);
+            maze.drawFtPrt(cell);
+
+            // (Step 4) Stop at the exit
+            if (current == exit) {
+                mExitReached = true;
+                mPathCost = dist[current];
+                return;
+            }
+
+            // (Step 3) Relax the edges through open walls and the tunnel
+            for (int i = 0; i < Maze.NUM_DIR; i++) {
+                Cell neighbor = cell.neigh[i];
+                if (neighbor != null && !cell.wall[i].present) {
+                    relax(maze, queue, dist, current, maze.cellIndex(neighbor.r, neighbor.c), 0);
+                }
+            }
+            if (cell.tunnelTo != null) {
+                relax(maze, queue, dist, current, maze.cellIndex(cell.tunnelTo.r, cell.tunnelTo.c), maze.tunnelCost);
+            }
+        }
+    } // end of solveMaze()
+
+    /**
+     * Lower the distance of a neighbour if the path through the current cell is cheaper.
+     *
+     * @param maze the maze
+     * @param queue the queue of cells to settle
+     * @param dist the best known distance of each cell
+     * @param current the index of the cell being settled
+     * @param next the index of the neighbour
+     * @param extraCost the cost of the passage itself
+     */
+    private void relax(Maze maze, RadixHeap queue, int dist[], int current, int next, int extraCost) {
+        int stepCost = (maze.cellCost == null ? 1 : maze.cellCost[next]) + extraCost;
+        int candidate = dist[current] + stepCost;
+        if (candidate < dist[next]) {
+            dist[next] = candidate;
+            queue.insert(candidate, next);
+        }
+    }
+
+    @Override
+    public boolean isSolved() {
+        return mExitReached;
+    } // end of isSolved()
+
+    @Override
+    public int cellsExplored() {
+        return mNumCellsVisited;
+    } // end of cellsExplored()
+
+    /**
+     * Use after solveMaze(maze), the cost of the cheapest path from entrance to exit.
+     *
+     * @return the cost of the path, -1 if the exit was not reached
+     */
+    public int pathCost() {
+        return mPathCost;
+    } // end of pathCost()
+
+} // end of class DijkstraSolver
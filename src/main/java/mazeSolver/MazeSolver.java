@@ -31,4 +31,13 @@ public interface MazeSolver
 	 * It is not required to be accurate and no marks are given (or lost) on it. 
 	 */
 	public abstract int cellsExplored();
+
+
+	/**
+	 * Make the following calls to solveMaze(maze) reproducible: after the same seed, the same maze is explored the same way.
+	 * Solvers making no random choice ignore it.
+	 * @param seed The seed of the random choices.
+	 */
+	public default void setSeed(long seed) {
+	}
 } // end of interface mazeGenerator
@@ -0,0 +1,113 @@
+package mazeSolver;
+
+import java.util.Arrays;
+
+/**
+ * Monotone priority queue of (key, value) int pairs, for Dijkstra's algorithm.
+ *
+ * Keys must be non-negative and never smaller than the last key removed. Entries are kept in buckets by
+ * the highest bit in which their key differs from the last key removed, so each entry is moved at most
+ * 32 times in total and nothing is boxed. There is no decrease-key: insert again and skip the stale entry.
+ */
+public class RadixHeap {
+
+    private static final int NUM_BUCKETS = Integer.SIZE + 1;
+
+    private final int mKeys[][] = new int[NUM_BUCKETS][];
+    private final int mValues[][] = new int[NUM_BUCKETS][];
+    private final int mSizes[] = new int[NUM_BUCKETS];
+    private int mLast = 0;
+    private int mSize = 0;
+    private int mMinKey;
+    private int mMinValue;
+
+    public RadixHeap() {
+        for (int i = 0; i < NUM_BUCKETS; i++) {
+            mKeys[i] = new int[4];
+            mValues[i] = new int[4];
+        }
+    }
+
+    /**
+     * Add an entry.
+     *
+     * @param key the priority, at least the last key removed
+     * @param value the payload
+     */
+    public void insert(int key, int value) {
+        if (key < mLast) {
+            throw new IllegalArgumentException("Key " + key + " is smaller than the last key removed " + mLast + ".");
+        }
+        add(bucketOf(key), key, value);
+        mSize++;
+    }
+
+    /**
+     * Remove the entry with the smallest key. Read it back with lastKey() and lastValue().
+     */
+    public void removeMin() {
+        if (mSizes[0] == 0) {
+            // Find the first non-empty bucket, its minimum becomes the new last key
+            int i = 1;
+            while (mSizes[i] == 0) {
+                i++;
+            }
+            int keys[] = mKeys[i];
+            int values[] = mValues[i];
+            int size = mSizes[i];
+            int newLast = keys[0];
+            for (int j = 1; j < size; j++) {
+                newLast = Math.min(newLast, keys[j]);
+            }
+            mLast = newLast;
+
+            // Every entry of the bucket now belongs to a lower bucket
+            mSizes[i] = 0;
+            for (int j = 0; j < size; j++) {
+                add(bucketOf(keys[j]), keys[j], values[j]);
+            }
+        }
+        int slot = --mSizes[0];
+        mMinKey = mKeys[0][slot];
+        mMinValue = mValues[0][slot];
+        mSize--;
+    }
+
+    /**
+     * @return the key of the entry removed last
+     */
+    public int lastKey() {
+        return mMinKey;
+    }
+
+    /**
+     * @return the value of the entry removed last
+     */
+    public int lastValue() {
+        return mMinValue;
+    }
+
+    public boolean isEmpty() {
+        return mSize == 0;
+    }
+
+    public int size() {
+        return mSize;
+    }
+
+    private int bucketOf(int key) {
+        return key == mLast ? 0 : Integer.SIZE - Integer.numberOfLeadingZeros(key ^ mLast);
+    }
+
+    private void add(int bucket, int key, int value) {
+        int size = mSizes[bucket];
+        if (size == mKeys[bucket].length) {
+            mKeys[bucket] = Arrays.copyOf(mKeys[bucket], size * 2);
+            mValues[bucket] = Arrays.copyOf(mValues[bucket], size * 2);
+        }
+        mKeys[bucket][size] = key;
+        mValues[bucket][size] = value;
+        mSizes[bucket] = size + 1;
+    }
+
+} // end of class RadixHeap
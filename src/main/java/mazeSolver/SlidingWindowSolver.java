@@ -0,0 +1,193 @@
+package mazeSolver;
+
+import maze.Maze;
+import mazeGenerator.SlidingWindowMaze;
+
+import java.util.SplittableRandom;
+
+/**
+ * Follows a SlidingWindowMaze as it grows, keeping a path from the start cell to the newest row at all times.
+ *
+ * For each resident cell the solver remembers whether it can be reached from the start going only sideways and
+ * towards newer rows, and from which side. Such a path never needs a row older than its own, so once the start
+ * has left the window the path simply begins in the oldest resident row. Before each new row is added, one
+ * reached cell of the newest row is forced to get a passage into it, so the new row always has reached cells.
+ * Memory is one byte per resident cell, and each new row costs time proportional to the width.
+ */
+public class SlidingWindowSolver {
+
+    private static final byte UNREACHED = -1;
+    private static final byte START = Maze.NUM_DIR;
+
+    private final SlidingWindowMaze mMaze;
+    private final int mWidth;
+    private final SplittableRandom mRandGen;
+    // side each resident cell was reached from (EAST, WEST or SOUTH for the previous row), row r at r % windowRows
+    private final byte mFrom[][];
+    private long mLastRow;
+
+    /**
+     * @param maze the maze to follow, a first row is added if it has none
+     * @param startCol the column of the start cell, in the newest row of the maze
+     */
+    public SlidingWindowSolver(SlidingWindowMaze maze, int startCol) {
+        this(maze, startCol, new SplittableRandom());
+    }
+
+    /**
+     * @param maze the maze to follow, a first row is added if it has none
+     * @param startCol the column of the start cell, in the newest row of the maze
+     * @param randGen picks the cell forced to go on into each new row
+     */
+    public SlidingWindowSolver(SlidingWindowMaze maze, int startCol, SplittableRandom randGen) {
+        mMaze = maze;
+        mWidth = maze.width();
+        mRandGen = randGen;
+        mFrom = new byte[maze.windowRows()][mWidth];
+        if (maze.lastRow() < 0) {
+            maze.addRow();
+        }
+        mLastRow = maze.lastRow();
+        byte from[] = mFrom[slot(mLastRow)];
+        for (int c = 0; c < mWidth; c++) {
+            from[c] = UNREACHED;
+        }
+        from[startCol] = START;
+        spread(mLastRow);
+    } // end of SlidingWindowSolver()
+
+    /**
+     * Add a row to the maze and extend the reached cells into it, using the following algorithm:
+     *
+     * ALGORITHM SLIDINGWINDOWSTEP(M)
+     * Input: Window M, the reached cells of its newest row known.
+     * Output: Window M with one more row, the reached cells of the new row known, at least one of them.
+     *
+     * 1: Pick a reached cell of the newest row at random and force its passage into the next row.
+     * 2: Add the next row.
+     * 3: Mark the cells of the new row below a reached cell with a passage to them, as reached from SOUTH.
+     * 4: Sweep the row east then west, marking the cells with a passage to a reached neighbour.
+     *
+     * @return the number of the new row
+     */
+    public long advance() {
+        if (mMaze.lastRow() != mLastRow) {
+            throw new IllegalStateException("Rows were added to the maze without the solver.");
+        }
+
+        // (Step 1) Keep a way into the next row
+        byte last[] = mFrom[slot(mLastRow)];
+        int forced = -1;
+        int numReached = 0;
+        for (int c = 0; c < mWidth; c++) {
+            if (last[c] != UNREACHED && mRandGen.nextInt(++numReached) == 0) {
+                forced = c;
+            }
+        }
+        mMaze.forceNext(forced);
+
+        // (Step 2) New row, it may take the slot of the oldest one
+        long row = mMaze.addRow();
+        mLastRow = row;
+
+        // (Step 3) Enter the new row from the reached cells above it
+        byte prev[] = mFrom[slot(row - 1)];
+        byte from[] = mFrom[slot(row)];
+        for (int c = 0; c < mWidth; c++) {
+            boolean entered = prev[c] != UNREACHED && !mMaze.isWallPresent(row, c, Maze.SOUTH);
+            from[c] = entered ? (byte) Maze.SOUTH : UNREACHED;
+        }
+
+        // (Step 4) Along the row
+        spread(row);
+        return row;
+    } // end of advance()
+
+    /**
+     * Mark the cells joined in a row to its reached cells, a sweep in each direction covers every run of the row.
+     *
+     * @param row the row
+     */
+    private void spread(long row) {
+        byte from[] = mFrom[slot(row)];
+        for (int c = 0; c < mWidth - 1; c++) {
+            if (from[c] != UNREACHED && from[c + 1] == UNREACHED && !mMaze.isWallPresent(row, c, Maze.EAST)) {
+                from[c + 1] = Maze.WEST;
+            }
+        }
+        for (int c = mWidth - 1; c > 0; c--) {
+            if (from[c] != UNREACHED && from[c - 1] == UNREACHED && !mMaze.isWallPresent(row, c, Maze.WEST)) {
+                from[c - 1] = Maze.EAST;
+            }
+        }
+    }
+
+    /**
+     * @param r a resident row
+     * @param c a column
+     * @return true if the cell is on a path from the start that only goes sideways and towards newer rows
+     */
+    public boolean isReached(long r, int c) {
+        if (r < mMaze.firstRow() || r > mLastRow) {
+            throw new IndexOutOfBoundsException("Row " + r + " is not in the window.");
+        }
+        return mFrom[slot(r)][c] != UNREACHED;
+    }
+
+    /**
+     * Path to a cell of the newest row, from the start cell or, if the start has left the window,
+     * from the cell where the path enters the oldest resident row.
+     *
+     * @param c the column of a reached cell of the newest row
+     * @return the cells of the path in order, each as {row, column}
+     */
+    public long[][] pathTo(int c) {
+        if (mFrom[slot(mLastRow)][c] == UNREACHED) {
+            throw new IllegalArgumentException("Cell " + c + " of the newest row is not reached.");
+        }
+        long firstRow = mMaze.firstRow();
+
+        // Walk back once to size the path, then again to fill it from the end
+        int length = 1;
+        long r = mLastRow;
+        for (int x = c; !isPathStart(r, x, firstRow); length++) {
+            byte d = mFrom[slot(r)][x];
+            r += Maze.deltaR[d];
+            x += Maze.deltaC[d];
+        }
+        long path[][] = new long[length][];
+        r = mLastRow;
+        int x = c;
+        for (int i = length - 1; i >= 0; i--) {
+            path[i] = new long[] {r, x};
+            if (i > 0) {
+                byte d = mFrom[slot(r)][x];
+                r += Maze.deltaR[d];
+                x += Maze.deltaC[d];
+            }
+        }
+        return path;
+    } // end of pathTo()
+
+    /**
+     * @return the first reached column of the newest row, there always is one
+     */
+    public int firstReached() {
+        byte from[] = mFrom[slot(mLastRow)];
+        int c = 0;
+        while (from[c] == UNREACHED) {
+            c++;
+        }
+        return c;
+    }
+
+    private boolean isPathStart(long r, int c, long firstRow) {
+        byte d = mFrom[slot(r)][c];
+        return d == START || (d == Maze.SOUTH && r == firstRow);
+    }
+
+    private int slot(long r) {
+        return (int) (r % mFrom.length);
+    }
+
+} // end of class SlidingWindowSolver